@@ -1,12 +1,15 @@
 package com.petties.petties.config;
 
-import com.petties.petties.repository.BlacklistedTokenRepository;
+import com.petties.petties.service.TokenBlacklistService;
+import com.petties.petties.service.TokenVersionService;
 import com.petties.petties.util.TokenUtil;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,6 +19,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
@@ -23,7 +27,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
     private final UserDetailsServiceImpl userDetailsService;
-    private final BlacklistedTokenRepository blacklistedTokenRepository;
+    private final TokenBlacklistService tokenBlacklistService;
+    private final TokenVersionService tokenVersionService;
+
+    @Value("${jwt.stateless-principal:true}")
+    private boolean statelessPrincipal;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -38,18 +46,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
+            Optional<JwtTokenProvider.VerifiedToken> verified = StringUtils.hasText(jwt)
+                    ? tokenProvider.verifyToken(jwt)
+                    : Optional.empty();
+
+            if (verified.isPresent()) {
                 // Check if token is blacklisted
                 String tokenHash = TokenUtil.hashToken(jwt);
-                if (blacklistedTokenRepository.findByTokenHash(tokenHash).isPresent()) {
+                if (tokenBlacklistService.isBlacklisted(tokenHash)) {
                     logger.warn("Blacklisted token attempted to be used");
                     filterChain.doFilter(request, response);
                     return;
                 }
 
-                String username = tokenProvider.getUsernameFromToken(jwt);
+                UserDetails userDetails = resolvePrincipal(verified.get());
+                if (userDetails == null) {
+                    logger.warn("Revoked token version attempted to be used");
+                    filterChain.doFilter(request, response);
+                    return;
+                }
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -63,6 +79,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Build principal for a verified token.
+     * Stateless mode: access tokens already carry userId + role, so the principal
+     * is rebuilt from claims and only the per-user token version is checked
+     * (Redis) instead of loading the user row from Postgres.
+     * Falls back to a DB lookup for tokens without a role claim or when Redis is
+     * unavailable.
+     *
+     * @return principal, or null if the token was revoked by a version bump
+     */
+    private UserDetails resolvePrincipal(JwtTokenProvider.VerifiedToken token) {
+        if (statelessPrincipal && token.isAccessToken() && StringUtils.hasText(token.role())) {
+            try {
+                if (!tokenVersionService.isCurrent(token.userId(), token.tokenVersion())) {
+                    return null;
+                }
+                return UserDetailsServiceImpl.UserPrincipal.fromToken(
+                        token.userId(), token.username(), token.role());
+            } catch (DataAccessException e) {
+                logger.warn("Token version check unavailable, loading user from database", e);
+            }
+        }
+        return userDetailsService.loadUserByUsername(token.username());
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
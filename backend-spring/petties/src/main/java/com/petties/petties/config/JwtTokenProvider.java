@@ -1,20 +1,31 @@
 package com.petties.petties.config;
 
+import com.petties.petties.service.TokenVersionService;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Function;
 
+@Slf4j
 @Component
+@RequiredArgsConstructor
 public class JwtTokenProvider {
 
+    private final TokenVersionService tokenVersionService;
+
     @Value("${jwt.secret}")
     private String jwtSecret; // để mã hóa token
 
@@ -24,8 +35,15 @@ public class JwtTokenProvider {
     @Value("${jwt.refresh-expiration}")
     private Long jwtRefreshExpiration;// để xác định thời gian sống của token refresh
 
-    private SecretKey getSigningKey() {// function dùng để lấy secret key
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    private SecretKey signingKey; // key và parser chỉ build một lần khi khởi động
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    void init() {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
 
     public String generateToken(UUID userId, String username, String role) {// function dùng để tạo token
@@ -37,9 +55,10 @@ public class JwtTokenProvider {
                 .claim("userId", userId.toString())
                 .claim("role", role)
                 .claim("type", "access")
+                .claim("ver", currentTokenVersion(userId))
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -53,10 +72,37 @@ public class JwtTokenProvider {
                 .claim("type", "refresh")
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    private long currentTokenVersion(UUID userId) {
+        try {
+            return tokenVersionService.getVersion(userId);
+        } catch (Exception e) {
+            // Redis down: token vẫn được cấp, filter sẽ fallback về DB khi không check được version
+            log.warn("Could not read token version for userId={}, issuing with version 0", userId, e);
+            return 0L;
+        }
+    }
+
+    /**
+     * Verify signature + expiration exactly once and return the parsed claims.
+     * Callers (filter, refresh, logout) should read every claim they need from
+     * the returned object instead of calling the getXxxFromToken helpers, which
+     * re-parse the token each time.
+     *
+     * @return verified claims, or empty if the token is malformed, tampered or
+     *         expired
+     */
+    public Optional<VerifiedToken> verifyToken(String token) {
+        try {
+            return Optional.of(new VerifiedToken(getAllClaimsFromToken(token)));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
     public String getTokenType(String token) {
         return getClaimFromToken(token, claims -> claims.get("type", String.class));
     }
@@ -84,24 +130,50 @@ public class JwtTokenProvider {
     }
 
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        // Parser đã tự kiểm tra exp (ném ExpiredJwtException), không cần check lại
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
 
     public Boolean validateToken(String token) {// function dùng để validate token
-        try {
-            getAllClaimsFromToken(token);
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
-        }
+        return verifyToken(token).isPresent();
     }
 
-    private Boolean isTokenExpired(String token) {// function dùng để kiểm tra token có hết hạn hay không
-        final Date expiration = getExpirationDateFromToken(token);
-        return expiration.before(new Date());
+    /**
+     * Claims of a token whose signature and expiration have already been verified
+     */
+    public record VerifiedToken(Claims claims) {
+
+        public String username() {
+            return claims.getSubject();
+        }
+
+        public UUID userId() {
+            return UUID.fromString(claims.get("userId", String.class));
+        }
+
+        public String role() {
+            return claims.get("role", String.class);
+        }
+
+        public String type() {
+            return claims.get("type", String.class);
+        }
+
+        public long tokenVersion() {
+            Object version = claims.get("ver");
+            return version instanceof Number number ? number.longValue() : 0L;
+        }
+
+        public Date expiration() {
+            return claims.getExpiration();
+        }
+
+        public boolean isAccessToken() {
+            return "access".equals(type());
+        }
+
+        public boolean isRefreshToken() {
+            return "refresh".equals(type());
+        }
     }
 }
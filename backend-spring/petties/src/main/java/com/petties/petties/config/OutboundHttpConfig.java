@@ -0,0 +1,71 @@
+package com.petties.petties.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Outbound HTTP clients.
+ *
+ * Each client is a RestTemplate on a JDK HttpClient (HTTP/1.1, pooled
+ * keep-alive connections) with its own connect/read timeouts and an
+ * {@link OutboundHttpGuard} (bulkhead + circuit breaker). Built through
+ * RestTemplateBuilder so http.client.requests latency is recorded by
+ * actuator.
+ *
+ * - restTemplate (primary): Google JWKS and other integrations
+ * - locationRestTemplate: Goong geocoding / distance matrix
+ */
+@Configuration
+public class OutboundHttpConfig {
+
+    private static final Duration BULKHEAD_WAIT = Duration.ofMillis(100); // then fail fast
+
+    @Bean
+    @Primary
+    public RestTemplate restTemplate(RestTemplateBuilder builder, MeterRegistry meterRegistry,
+            @Value("${outbound-http.default.connect-timeout-ms:2000}") long connectTimeoutMs,
+            @Value("${outbound-http.default.read-timeout-ms:5000}") long readTimeoutMs,
+            @Value("${outbound-http.default.max-concurrent:50}") int maxConcurrent,
+            @Value("${outbound-http.default.failure-threshold:5}") int failureThreshold,
+            @Value("${outbound-http.default.open-ms:30000}") long openMs) {
+        return build(builder, connectTimeoutMs, readTimeoutMs,
+                new OutboundHttpGuard("default", maxConcurrent, BULKHEAD_WAIT, failureThreshold,
+                        Duration.ofMillis(openMs), meterRegistry));
+    }
+
+    @Bean
+    public RestTemplate locationRestTemplate(RestTemplateBuilder builder, MeterRegistry meterRegistry,
+            @Value("${outbound-http.location.connect-timeout-ms:1000}") long connectTimeoutMs,
+            @Value("${outbound-http.location.read-timeout-ms:3000}") long readTimeoutMs,
+            @Value("${outbound-http.location.max-concurrent:20}") int maxConcurrent,
+            @Value("${outbound-http.location.failure-threshold:5}") int failureThreshold,
+            @Value("${outbound-http.location.open-ms:30000}") long openMs) {
+        return build(builder, connectTimeoutMs, readTimeoutMs,
+                new OutboundHttpGuard("location", maxConcurrent, BULKHEAD_WAIT, failureThreshold,
+                        Duration.ofMillis(openMs), meterRegistry));
+    }
+
+    static RestTemplate build(RestTemplateBuilder builder, long connectTimeoutMs, long readTimeoutMs,
+            OutboundHttpGuard guard) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+
+        return builder
+                .requestFactory(() -> requestFactory)
+                .additionalInterceptors(guard)
+                .build();
+    }
+}
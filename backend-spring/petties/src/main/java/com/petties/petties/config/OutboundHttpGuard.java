@@ -0,0 +1,188 @@
+package com.petties.petties.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * RestTemplate interceptor that protects request threads from a slow or
+ * failing downstream service.
+ *
+ * - Bulkhead: at most {@code maxConcurrent} calls in flight; a caller waits up
+ * to {@code acquireTimeout} for a slot, then fails fast
+ * - Circuit breaker: after {@code failureThreshold} consecutive failures
+ * (I/O error, timeout or 5xx) calls fail fast for {@code openDuration}; then
+ * one trial call decides whether to close again
+ *
+ * Rejected calls throw {@link RejectedException}, which RestTemplate surfaces
+ * as a ResourceAccessException, so callers take their normal fallback path
+ * without waiting on the network.
+ *
+ * Metrics:
+ * - petties.http.client.circuit.state{client} (0 closed, 1 open, 2 half-open)
+ * - petties.http.client.in-flight{client} (gauge)
+ * - petties.http.client.rejected{client, reason=bulkhead|circuit-open}
+ */
+@Slf4j
+public class OutboundHttpGuard implements ClientHttpRequestInterceptor {
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String client;
+    private final Semaphore bulkhead;
+    private final long acquireTimeoutMillis;
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openedAt = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Counter bulkheadRejected;
+    private final Counter circuitRejected;
+
+    public OutboundHttpGuard(String client, int maxConcurrent, Duration acquireTimeout, int failureThreshold,
+            Duration openDuration, MeterRegistry meterRegistry) {
+        this.client = client;
+        this.bulkhead = new Semaphore(maxConcurrent);
+        this.acquireTimeoutMillis = acquireTimeout.toMillis();
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openDuration.toMillis();
+
+        Gauge.builder("petties.http.client.circuit.state", state, s -> s.get().ordinal())
+                .description("Circuit breaker state: 0 closed, 1 open, 2 half-open")
+                .tag("client", client)
+                .register(meterRegistry);
+        Gauge.builder("petties.http.client.in-flight", inFlight, AtomicInteger::get)
+                .description("Outbound calls currently in flight")
+                .tag("client", client)
+                .register(meterRegistry);
+        this.bulkheadRejected = rejectedCounter("bulkhead", meterRegistry);
+        this.circuitRejected = rejectedCounter("circuit-open", meterRegistry);
+    }
+
+    private Counter rejectedCounter(String reason, MeterRegistry meterRegistry) {
+        return Counter.builder("petties.http.client.rejected")
+                .description("Outbound calls rejected without reaching the network")
+                .tag("client", client)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        boolean trial = acquirePermission();
+
+        try {
+            if (!bulkhead.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                bulkheadRejected.increment();
+                releaseTrial(trial);
+                throw new RejectedException(client + ": too many concurrent calls");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            releaseTrial(trial);
+            throw new RejectedException(client + ": interrupted while waiting for a slot");
+        }
+
+        inFlight.incrementAndGet();
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            if (response.getStatusCode().is5xxServerError()) {
+                onFailure();
+            } else {
+                onSuccess();
+            }
+            return response;
+        } catch (CancellationException e) {
+            // JdkClientHttpRequestFactory (Spring 6.2.0) reports a read timeout this way;
+            // surface it as I/O so RestTemplate throws ResourceAccessException
+            onFailure();
+            HttpTimeoutException timeout = new HttpTimeoutException(client + ": read timed out");
+            timeout.initCause(e);
+            throw timeout;
+        } catch (IOException | RuntimeException e) {
+            onFailure();
+            throw e;
+        } finally {
+            inFlight.decrementAndGet();
+            bulkhead.release();
+        }
+    }
+
+    State state() {
+        return state.get();
+    }
+
+    /**
+     * @return true when this call is the half-open trial
+     * @throws RejectedException while the circuit is open
+     */
+    private boolean acquirePermission() throws RejectedException {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return false;
+        }
+        if (current == State.OPEN && System.currentTimeMillis() - openedAt.get() >= openMillis
+                && state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+            log.info("Circuit for {} half-open, sending a trial call", client);
+            return true;
+        }
+        circuitRejected.increment();
+        throw new RejectedException(client + ": circuit open");
+    }
+
+    /**
+     * A trial that never reached the network leaves the circuit open
+     */
+    private void releaseTrial(boolean trial) {
+        if (trial) {
+            openedAt.set(System.currentTimeMillis() - openMillis); // allow the next caller to retry at once
+            state.set(State.OPEN);
+        }
+    }
+
+    private void onSuccess() {
+        consecutiveFailures.set(0);
+        if (state.getAndSet(State.CLOSED) != State.CLOSED) {
+            log.info("Circuit for {} closed", client);
+        }
+    }
+
+    private void onFailure() {
+        if (state.get() == State.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openedAt.set(System.currentTimeMillis());
+            if (state.getAndSet(State.OPEN) != State.OPEN) {
+                log.warn("Circuit for {} opened for {} ms", client, openMillis);
+            }
+        }
+    }
+
+    /**
+     * Call refused locally (bulkhead full or circuit open)
+     */
+    public static class RejectedException extends IOException {
+        public RejectedException(String message) {
+            super(message);
+        }
+    }
+}
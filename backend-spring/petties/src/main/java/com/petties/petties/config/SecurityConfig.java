@@ -1,5 +1,6 @@
 package com.petties.petties.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -21,6 +22,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
@@ -36,16 +38,35 @@ public class SecurityConfig {
     @Value("${cors.allowed-origins:https://petties.world,https://www.petties.world}")
     private String allowedOrigins;
 
+    @Value("${password-hashing.strength:10}")
+    private int passwordHashingStrength;
+
+    @Value("${password-hashing.pool-size:0}")
+    private int passwordHashingPoolSize; // 0 = half the CPU cores (at least 1)
+
+    @Value("${password-hashing.queue-capacity:50}")
+    private int passwordHashingQueueCapacity;
+
+    @Value("${password-hashing.timeout-ms:1000}")
+    private long passwordHashingTimeoutMs;
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(10);
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        int poolSize = passwordHashingPoolSize > 0
+                ? passwordHashingPoolSize
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        // BCrypt chạy trên pool riêng có giới hạn: burst login chỉ dùng tối đa poolSize core,
+        // phần còn lại cho request khác. Tomcat thread gọi vẫn chờ đến khi hash xong.
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(passwordHashingStrength),
+                poolSize, passwordHashingQueueCapacity, Duration.ofMillis(passwordHashingTimeoutMs),
+                meterRegistry);
     }
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
 
@@ -60,7 +81,7 @@ public class SecurityConfig {
         config.setAllowedOrigins(Arrays.asList(allowedOrigins.split(",")));
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS", "HEAD"));
         config.setAllowedHeaders(List.of("*"));
-        config.setExposedHeaders(List.of("Authorization", "X-Total-Count", "Content-Disposition"));
+        config.setExposedHeaders(List.of("Authorization", "X-Total-Count", "Content-Disposition", "X-Next-Cursor"));
         config.setAllowCredentials(true);
         config.setMaxAge(3600L);
 
@@ -70,7 +91,8 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, DaoAuthenticationProvider authenticationProvider)
+            throws Exception {
         http
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(AbstractHttpConfigurer::disable)
@@ -81,7 +103,7 @@ public class SecurityConfig {
                         .requestMatchers("/actuator/**").permitAll()
                         .requestMatchers("/ws/**").permitAll() // WebSocket handshake
                         .anyRequest().authenticated())
-                .authenticationProvider(authenticationProvider())
+                .authenticationProvider(authenticationProvider)
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
@@ -68,6 +68,19 @@ public class UserDetailsServiceImpl implements UserDetailsService {
             );
         }
         
+        /**
+         * Build principal from verified access token claims (no DB lookup).
+         * Password is not available here, the principal is only used for
+         * authorization of the current request.
+         */
+        public static UserPrincipal fromToken(UUID userId, String username, String role) {
+            Collection<GrantedAuthority> authorities = Collections.singletonList(
+                    new SimpleGrantedAuthority("ROLE_" + role)
+            );
+
+            return new UserPrincipal(userId, username, null, role, authorities);
+        }
+        
         public UUID getUserId() {
             return userId;
         }
@@ -1,33 +1,45 @@
 package com.petties.petties.controller;
 
+import com.petties.petties.dto.clinic.ClinicListCursor;
 import com.petties.petties.dto.clinic.ClinicLocationResponse;
 import com.petties.petties.dto.clinic.ApproveClinicRequest;
 import com.petties.petties.dto.clinic.ClinicRequest;
 import com.petties.petties.dto.clinic.ClinicResponse;
+import com.petties.petties.dto.clinic.ClinicSuggestionResponse;
 import com.petties.petties.dto.clinic.DistanceResponse;
 import com.petties.petties.dto.clinic.GeocodeResponse;
+import com.petties.petties.dto.clinic.NearbyCursor;
 import com.petties.petties.dto.clinic.RejectClinicRequest;
 import com.petties.petties.dto.file.UploadResponse;
+import com.petties.petties.exception.BadRequestException;
 import com.petties.petties.model.User;
 import com.petties.petties.model.enums.ClinicStatus;
 import com.petties.petties.service.AuthService;
+import com.petties.petties.service.ClinicLocationCatalog;
 import com.petties.petties.service.ClinicService;
 import com.petties.petties.service.CloudinaryService;
+import com.petties.petties.util.ResourceVersion;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import lombok.extern.slf4j.Slf4j;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -41,6 +53,11 @@ import java.util.UUID;
 @Slf4j
 public class ClinicController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    static final double MAX_NEARBY_RADIUS_KM = 100;
+    static final int MAX_SEARCH_PAGE_SIZE = 50;
+
     private final ClinicService clinicService;
     private final AuthService authService;
     private final CloudinaryService cloudinaryService;
@@ -48,42 +65,71 @@ public class ClinicController {
     /**
      * GET /api/clinics
      * Get all clinics with filters and pagination
+     * Sorted by createdAt, a page carries X-Next-Cursor; ?cursor= returns the
+     * next page by keyset without a COUNT (total in X-Total-Count, cached).
+     * The first page without a name filter is a keyset read too, its
+     * totalElements from the same cache
      * Public access - all authenticated users can view clinics
      */
     @GetMapping
-    public ResponseEntity<Page<ClinicResponse>> getAllClinics(
+    public ResponseEntity<Slice<ClinicResponse>> getAllClinics(
             @RequestParam(required = false) ClinicStatus status,
             @RequestParam(required = false) String name,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "DESC") Sort.Direction sortDir) {
+            @RequestParam(defaultValue = "DESC") Sort.Direction sortDir,
+            @RequestParam(required = false) String cursor) {
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDir, sortBy));
+        if (cursor != null && !cursor.isBlank()) {
+            return keysetPage(status, name, ClinicListCursor.decode(cursor), size);
+        }
+        if (isFirstKeysetPage(page, sortBy, name)) {
+            return withNextCursor(clinicService.getFirstClinicsPage(status, sortDir, size), sortBy, sortDir);
+        }
+        Pageable pageable = PageRequest.of(page, size, listSort(sortBy, sortDir));
         Page<ClinicResponse> clinics = clinicService.getAllClinics(status, name, pageable);
-        return ResponseEntity.ok(clinics);
+        return withNextCursor(clinics, sortBy, sortDir);
     }
 
     /**
      * GET /api/clinics/locations
      * Get all unique locations (province, district, ward) that have approved
      * clinics
-     * Public access
+     * Public access. Returns an ETag; If-None-Match with the same tag gets 304
      */
     @GetMapping("/locations")
-    public ResponseEntity<java.util.List<ClinicLocationResponse>> getActiveLocations() {
-        return ResponseEntity.ok(clinicService.getActiveLocations());
+    public ResponseEntity<java.util.List<ClinicLocationResponse>> getActiveLocations(WebRequest webRequest) {
+        ClinicLocationCatalog.Catalog catalog = clinicService.getLocationCatalog();
+        if (webRequest.checkNotModified(catalog.etag())) {
+            return null; // 304 already written
+        }
+        return ResponseEntity.ok()
+                .eTag(catalog.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(catalog.locations());
     }
 
     /**
      * GET /api/clinics/{id}
      * Get clinic by ID
-     * Public access
+     * Public access. The version lookup refreshes a stale cached detail;
+     * ETag/Last-Modified (and the 304 check) come from the snapshot the body
+     * is built from, so a cache hit answers If-None-Match/If-Modified-Since
+     * without loading the clinic
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ClinicResponse> getClinicById(@PathVariable UUID id) {
-        ClinicResponse clinic = clinicService.getClinicById(id);
-        return ResponseEntity.ok(clinic);
+    public ResponseEntity<ClinicResponse> getClinicById(@PathVariable UUID id, WebRequest webRequest) {
+        ResourceVersion version = clinicService.getClinicVersion(id);
+        if (webRequest.checkNotModified(version.etag(), version.lastModified())) {
+            return null; // 304 already written, no cache or detail read
+        }
+        // checkNotModified also wrote ETag and Last-Modified of this version.
+        // The cache only serves entries of this version, so the body is never
+        // older than the ETag; a newer one costs the client one more 200.
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(clinicService.getClinicDetail(id, version).clinic());
     }
 
     /**
@@ -143,9 +189,43 @@ public class ClinicController {
         return ResponseEntity.ok(clinics);
     }
 
+    /**
+     * GET /api/clinics/suggest
+     * Autocomplete clinic names and locations (accent-insensitive prefix match,
+     * served from memory)
+     * Public access
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ClinicSuggestionResponse>> suggestClinics(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(clinicService.suggestClinics(q, limit));
+    }
+
+    /**
+     * GET /api/clinics/search/text
+     * Accent-insensitive full-text search over approved clinics
+     * ("thu y" matches "Thú Y"), ranked by relevance
+     * Public access
+     */
+    @GetMapping("/search/text")
+    public ResponseEntity<Page<ClinicResponse>> fullTextSearch(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        if (size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_SEARCH_PAGE_SIZE);
+        }
+        Pageable pageable = PageRequest.of(page, size);
+        Page<ClinicResponse> clinics = clinicService.fullTextSearch(q, pageable);
+        return ResponseEntity.ok(clinics);
+    }
+
     /**
      * GET /api/clinics/nearby
-     * Find nearby clinics
+     * Find nearby clinics, with road distance and ETA unless includeRoute=false.
+     * openNow=true or openAt=2026-01-05T09:00 keeps clinics open at that time
      * Public access
      */
     @GetMapping("/nearby")
@@ -154,12 +234,32 @@ public class ClinicController {
             @RequestParam BigDecimal longitude,
             @RequestParam(defaultValue = "10.0") double radius,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean includeRoute,
+            @RequestParam(defaultValue = "false") boolean openNow,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime openAt) {
 
+        if (!(radius > 0 && radius <= MAX_NEARBY_RADIUS_KM)) {
+            throw new BadRequestException("Radius must be between 0 and " + (int) MAX_NEARBY_RADIUS_KM + " km");
+        }
         Pageable pageable = PageRequest.of(page, size);
-        Page<ClinicResponse> clinics = clinicService.findNearbyClinics(
-                latitude, longitude, radius, pageable);
-        return ResponseEntity.ok(clinics);
+        ClinicService.NearbyPage nearby = clinicService.findNearbyPage(
+                latitude, longitude, radius, pageable,
+                cursor != null && !cursor.isBlank() ? NearbyCursor.decode(cursor) : null,
+                openAt != null ? openAt : openNow ? clinicService.clinicLocalTime() : null);
+        Page<ClinicResponse> clinics = nearby.clinics();
+        if (includeRoute) {
+            // Road distance + ETA for the whole page in one matrix call (after the DB transaction)
+            clinicService.attachRoutes(latitude, longitude, clinics.getContent());
+        }
+
+        // Keyset cursor for infinite scroll: pass it back as ?cursor= to get the next page
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nearby.next() != null) {
+            response.header(NEXT_CURSOR_HEADER, nearby.next().encode());
+        }
+        return response.body(clinics);
     }
 
     /**
@@ -200,19 +300,73 @@ public class ClinicController {
     /**
      * GET /api/clinics/admin/pending
      * Get all pending clinics for admin approval
+     * The first createdAt page and ?cursor= pages are keyset reads, total
+     * from the cached status counts
      * ADMIN only
      */
     @GetMapping("/admin/pending")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Page<ClinicResponse>> getPendingClinics(
+    public ResponseEntity<Slice<ClinicResponse>> getPendingClinics(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "DESC") Sort.Direction sortDir) {
+            @RequestParam(defaultValue = "DESC") Sort.Direction sortDir,
+            @RequestParam(required = false) String cursor) {
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDir, sortBy));
+        if (cursor != null && !cursor.isBlank()) {
+            return keysetPage(ClinicStatus.PENDING, null, ClinicListCursor.decode(cursor), size);
+        }
+        if (isFirstKeysetPage(page, sortBy, null)) {
+            return withNextCursor(clinicService.getFirstClinicsPage(ClinicStatus.PENDING, sortDir, size),
+                    sortBy, sortDir);
+        }
+        Pageable pageable = PageRequest.of(page, size, listSort(sortBy, sortDir));
         Page<ClinicResponse> clinics = clinicService.getPendingClinics(pageable);
-        return ResponseEntity.ok(clinics);
+        return withNextCursor(clinics, sortBy, sortDir);
+    }
+
+    /**
+     * createdAt order is made total by clinicId, the order of the keyset pages
+     */
+    private static Sort listSort(String sortBy, Sort.Direction sortDir) {
+        return "createdAt".equals(sortBy)
+                ? Sort.by(sortDir, "createdAt", "clinicId")
+                : Sort.by(sortDir, sortBy);
+    }
+
+    /**
+     * The first createdAt page is read by keyset too, with the cached total;
+     * a name filter has no cheap total, so it keeps the COUNT
+     */
+    private static boolean isFirstKeysetPage(int page, String sortBy, String name) {
+        return page == 0 && "createdAt".equals(sortBy) && (name == null || name.isBlank());
+    }
+
+    private static ResponseEntity<Slice<ClinicResponse>> withNextCursor(Page<ClinicResponse> clinics,
+            String sortBy, Sort.Direction sortDir) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        List<ClinicResponse> content = clinics.getContent();
+        if ("createdAt".equals(sortBy) && clinics.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER,
+                    ClinicListCursor.after(content.get(content.size() - 1), sortDir).encode());
+        }
+        return response.body(clinics);
+    }
+
+    private ResponseEntity<Slice<ClinicResponse>> keysetPage(ClinicStatus status, String name,
+            ClinicListCursor cursor, int size) {
+        Slice<ClinicResponse> clinics = clinicService.getClinicsAfter(status, name, cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (name == null || name.isBlank()) {
+            // Cached per-status total; a name filter has no cheap total
+            response.header(TOTAL_COUNT_HEADER, String.valueOf(clinicService.countClinics(status)));
+        }
+        List<ClinicResponse> content = clinics.getContent();
+        if (clinics.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER,
+                    ClinicListCursor.after(content.get(content.size() - 1), cursor.direction()).encode());
+        }
+        return response.body(clinics);
     }
 
     /**
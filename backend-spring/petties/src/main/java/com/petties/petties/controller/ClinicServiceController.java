@@ -4,12 +4,15 @@ import com.petties.petties.dto.clinicService.ClinicServiceRequest;
 import com.petties.petties.dto.clinicService.ClinicServiceResponse;
 import com.petties.petties.dto.clinicService.ClinicServiceUpdateRequest;
 import com.petties.petties.service.ClinicServiceService;
+import com.petties.petties.util.ResourceVersion;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -39,9 +42,16 @@ public class ClinicServiceController {
      */
     @GetMapping
     @PreAuthorize("hasRole('CLINIC_OWNER')")
-    public ResponseEntity<List<ClinicServiceResponse>> getAllServices() {
+    public ResponseEntity<List<ClinicServiceResponse>> getAllServices(WebRequest webRequest) {
+        ResourceVersion version = serviceService.getAllServicesVersion();
+        if (webRequest.checkNotModified(version.etag(), version.lastModified())) {
+            return null; // 304 already written
+        }
         List<ClinicServiceResponse> services = serviceService.getAllServices();
-        return ResponseEntity.ok(services);
+        return ResponseEntity.ok()
+                .eTag(version.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(services);
     }
 
     /**
@@ -153,8 +163,16 @@ public class ClinicServiceController {
      */
     @GetMapping("/by-clinic/{clinicId}")
     @PreAuthorize("hasRole('CLINIC_OWNER')")
-    public ResponseEntity<List<ClinicServiceResponse>> getServicesByClinicId(@PathVariable UUID clinicId) {
+    public ResponseEntity<List<ClinicServiceResponse>> getServicesByClinicId(@PathVariable UUID clinicId,
+            WebRequest webRequest) {
+        ResourceVersion version = serviceService.getServicesVersionByClinicId(clinicId);
+        if (webRequest.checkNotModified(version.etag(), version.lastModified())) {
+            return null; // 304 already written
+        }
         List<ClinicServiceResponse> services = serviceService.getServicesByClinicId(clinicId);
-        return ResponseEntity.ok(services);
+        return ResponseEntity.ok()
+                .eTag(version.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(services);
     }
 }
@@ -4,12 +4,15 @@ import com.petties.petties.dto.masterService.MasterServiceRequest;
 import com.petties.petties.dto.masterService.MasterServiceResponse;
 import com.petties.petties.dto.masterService.MasterServiceUpdateRequest;
 import com.petties.petties.service.MasterServiceService;
+import com.petties.petties.util.ResourceVersion;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -36,12 +39,20 @@ public class MasterServiceController {
     /**
      * Get all master services
      * GET /api/master-services
+     * Conditional: 304 when If-None-Match/If-Modified-Since still match
      */
     @GetMapping
     @PreAuthorize("hasRole('CLINIC_OWNER')")
-    public ResponseEntity<List<MasterServiceResponse>> getAllMasterServices() {
+    public ResponseEntity<List<MasterServiceResponse>> getAllMasterServices(WebRequest webRequest) {
+        ResourceVersion version = masterServiceService.getAllMasterServicesVersion();
+        if (webRequest.checkNotModified(version.etag(), version.lastModified())) {
+            return null; // 304 already written
+        }
         List<MasterServiceResponse> services = masterServiceService.getAllMasterServices();
-        return ResponseEntity.ok(services);
+        return ResponseEntity.ok()
+                .eTag(version.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(services);
     }
 
     /**
@@ -0,0 +1,252 @@
+package com.petties.petties.converter;
+
+import com.petties.petties.model.OperatingHours;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fast path for reading the operating_hours JSON.
+ *
+ * A hand-rolled single-pass parser reads the usual shape
+ * {"MONDAY": {"openTime": "08:00", ...}, ...} into a fixed 7-slot array
+ * indexed by day (plus the key order, which the map keeps like Jackson's
+ * LinkedHashMap does). Parsed schedules are interned by JSON string, since many
+ * clinics share the same schedule; every load still gets its own mutable
+ * map and OperatingHours objects, so entities never share state.
+ *
+ * Anything outside that shape (other keys, escapes, other time formats)
+ * returns null and the converter falls back to Jackson, so results are
+ * identical to the Jackson path.
+ */
+final class OperatingHoursCodec {
+
+    private static final int MAX_CACHED = 1024; // distinct schedules kept; more are parsed, not cached
+    private static final DayOfWeek[] DAYS = DayOfWeek.values();
+
+    private final Map<String, Schedule> cache = new ConcurrentHashMap<>();
+
+    private record Day(LocalTime openTime, LocalTime closeTime, LocalTime breakStart, LocalTime breakEnd,
+            Boolean isClosed) {
+
+        OperatingHours toOperatingHours() {
+            return new OperatingHours(openTime, closeTime, breakStart, breakEnd, isClosed);
+        }
+    }
+
+    /**
+     * days[dayOfWeek - 1] with order listing the day indexes as they appear in
+     * the JSON
+     */
+    private record Schedule(Day[] days, int[] order) {
+    }
+
+    /**
+     * @return a new map, or null when the JSON needs the full Jackson parser
+     */
+    Map<String, OperatingHours> decode(String json) {
+        Schedule schedule = cache.get(json);
+        if (schedule == null) {
+            schedule = parse(json);
+            if (schedule == null) {
+                return null;
+            }
+            if (cache.size() < MAX_CACHED) {
+                cache.putIfAbsent(json, schedule);
+            }
+        }
+
+        Map<String, OperatingHours> result = new LinkedHashMap<>();
+        for (int day : schedule.order()) {
+            result.put(DAYS[day].name(), schedule.days()[day].toOperatingHours());
+        }
+        return result;
+    }
+
+    int cachedSchedules() {
+        return cache.size();
+    }
+
+    private static Schedule parse(String json) {
+        try {
+            return new Parser(json).schedule();
+        } catch (Unsupported | IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Thrown (without a stack trace) when the input leaves the fast path
+     */
+    private static final class Unsupported extends RuntimeException {
+        static final Unsupported INSTANCE = new Unsupported();
+
+        private Unsupported() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final class Parser {
+
+        private final String s;
+        private int pos;
+
+        Parser(String s) {
+            this.s = s;
+        }
+
+        Schedule schedule() {
+            Day[] days = new Day[DAYS.length];
+            int[] order = new int[DAYS.length];
+            int count = 0;
+            expect('{');
+            if (!peekIs('}')) {
+                do {
+                    int day = dayIndex(string());
+                    expect(':');
+                    if (days[day] != null) {
+                        throw Unsupported.INSTANCE; // duplicate key: let Jackson decide
+                    }
+                    days[day] = day();
+                    order[count++] = day;
+                } while (consume(','));
+            }
+            expect('}');
+            skipWhitespace();
+            if (pos != s.length()) {
+                throw Unsupported.INSTANCE;
+            }
+            return new Schedule(days, Arrays.copyOf(order, count));
+        }
+
+        private Day day() {
+            LocalTime openTime = null;
+            LocalTime closeTime = null;
+            LocalTime breakStart = null;
+            LocalTime breakEnd = null;
+            Boolean isClosed = null;
+            expect('{');
+            if (!peekIs('}')) {
+                do {
+                    String field = string();
+                    expect(':');
+                    switch (field) {
+                        case "openTime" -> openTime = time();
+                        case "closeTime" -> closeTime = time();
+                        case "breakStart" -> breakStart = time();
+                        case "breakEnd" -> breakEnd = time();
+                        case "isClosed" -> isClosed = bool();
+                        default -> throw Unsupported.INSTANCE;
+                    }
+                } while (consume(','));
+            }
+            expect('}');
+            return new Day(openTime, closeTime, breakStart, breakEnd, isClosed);
+        }
+
+        private static int dayIndex(String name) {
+            for (int i = 0; i < DAYS.length; i++) {
+                if (DAYS[i].name().equals(name)) {
+                    return i;
+                }
+            }
+            throw Unsupported.INSTANCE;
+        }
+
+        /**
+         * "HH:mm" or null
+         */
+        private LocalTime time() {
+            if (literal("null")) {
+                return null;
+            }
+            String value = string();
+            if (value.length() != 5 || value.charAt(2) != ':') {
+                throw Unsupported.INSTANCE;
+            }
+            int hour = digits(value.charAt(0), value.charAt(1));
+            int minute = digits(value.charAt(3), value.charAt(4));
+            if (hour > 23 || minute > 59) {
+                throw Unsupported.INSTANCE;
+            }
+            return LocalTime.of(hour, minute);
+        }
+
+        private static int digits(char tens, char units) {
+            if (tens < '0' || tens > '9' || units < '0' || units > '9') {
+                throw Unsupported.INSTANCE;
+            }
+            return (tens - '0') * 10 + (units - '0');
+        }
+
+        private Boolean bool() {
+            if (literal("true")) {
+                return Boolean.TRUE;
+            }
+            if (literal("false")) {
+                return Boolean.FALSE;
+            }
+            if (literal("null")) {
+                return null;
+            }
+            throw Unsupported.INSTANCE;
+        }
+
+        private String string() {
+            expect('"');
+            int start = pos;
+            while (true) {
+                char c = s.charAt(pos);
+                if (c == '"') {
+                    return s.substring(start, pos++);
+                }
+                if (c == '\\' || c < ' ') {
+                    throw Unsupported.INSTANCE;
+                }
+                pos++;
+            }
+        }
+
+        private boolean literal(String word) {
+            skipWhitespace();
+            if (s.startsWith(word, pos)) {
+                pos += word.length();
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            if (!consume(c)) {
+                throw Unsupported.INSTANCE;
+            }
+        }
+
+        private boolean consume(char c) {
+            if (peekIs(c)) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean peekIs(char c) {
+            skipWhitespace();
+            return pos < s.length() && s.charAt(pos) == c;
+        }
+
+        private void skipWhitespace() {
+            while (pos < s.length()) {
+                char c = s.charAt(pos);
+                if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                    return;
+                }
+                pos++;
+            }
+        }
+    }
+}
@@ -19,12 +19,17 @@ import java.util.Map;
 /**
  * Converter for OperatingHours Map to/from JSONB
  * Handles LocalTime serialization/deserialization properly
+ * Reads go through {@link OperatingHoursCodec} first (streaming parser +
+ * per-schedule cache), Jackson only handles what the fast path rejects
  */
 @Converter
 @Slf4j
 public class OperatingHoursConverter implements AttributeConverter<Map<String, OperatingHours>, String> {
 
     private static final ObjectMapper objectMapper;
+    private static final TypeReference<Map<String, OperatingHours>> TYPE = new TypeReference<>() {
+    };
+    private static final OperatingHoursCodec codec = new OperatingHoursCodec();
 
     static {
         objectMapper = new ObjectMapper();
@@ -58,9 +63,12 @@ public class OperatingHoursConverter implements AttributeConverter<Map<String, O
         if (dbData == null || dbData.isEmpty()) {
             return new HashMap<>();
         }
+        Map<String, OperatingHours> decoded = codec.decode(dbData);
+        if (decoded != null) {
+            return decoded;
+        }
         try {
-            TypeReference<Map<String, OperatingHours>> typeRef = new TypeReference<Map<String, OperatingHours>>() {};
-            return objectMapper.readValue(dbData, typeRef);
+            return objectMapper.readValue(dbData, TYPE);
         } catch (Exception e) {
             log.error("Error converting JSON to OperatingHours. JSON: {}", dbData, e);
             throw new RuntimeException("Failed to convert JSON to OperatingHours", e);
@@ -0,0 +1,13 @@
+package com.petties.petties.dto.clinic;
+
+import java.time.LocalDateTime;
+
+/**
+ * Timestamps the clinic detail depends on (ETag of GET /clinics/{id})
+ */
+public interface ClinicDetailVersion {
+
+    LocalDateTime getUpdatedAt();
+
+    LocalDateTime getOwnerUpdatedAt();
+}
@@ -0,0 +1,20 @@
+package com.petties.petties.dto.clinic;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Coordinates of an approved clinic (loaded into ClinicGeoIndex)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClinicGeoPoint {
+    private UUID clinicId;
+    private BigDecimal latitude;
+    private BigDecimal longitude;
+}
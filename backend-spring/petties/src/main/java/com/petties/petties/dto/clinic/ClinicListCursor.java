@@ -0,0 +1,49 @@
+package com.petties.petties.dto.clinic;
+
+import com.petties.petties.exception.BadRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset cursor for the clinic lists: the (createdAt, clinicId) of the last
+ * clinic of the previous page and the direction of the list. Sent to clients
+ * as an opaque base64url string.
+ */
+public record ClinicListCursor(LocalDateTime createdAt, UUID clinicId, Sort.Direction direction) {
+
+    // Outside any real createdAt, inside the range of a Postgres timestamp
+    private static final LocalDateTime BEFORE_ALL = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final LocalDateTime AFTER_ALL = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    /**
+     * Position before the first clinic of a list in the given direction
+     */
+    public static ClinicListCursor start(Sort.Direction direction) {
+        return direction == Sort.Direction.ASC
+                ? new ClinicListCursor(BEFORE_ALL, new UUID(0, 0), direction)
+                : new ClinicListCursor(AFTER_ALL, new UUID(-1, -1), direction);
+    }
+
+    public static ClinicListCursor after(ClinicResponse clinic, Sort.Direction direction) {
+        return new ClinicListCursor(clinic.getCreatedAt(), clinic.getClinicId(), direction);
+    }
+
+    public static ClinicListCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            return new ClinicListCursor(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]),
+                    Sort.Direction.valueOf(parts[2]));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((createdAt + "|" + clinicId + "|" + direction).getBytes(StandardCharsets.UTF_8));
+    }
+}
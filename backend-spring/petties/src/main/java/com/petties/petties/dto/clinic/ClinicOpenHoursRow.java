@@ -0,0 +1,13 @@
+package com.petties.petties.dto.clinic;
+
+import java.util.UUID;
+
+/**
+ * Compiled opening hours of an approved clinic (ClinicOpenHoursIndex load)
+ */
+public interface ClinicOpenHoursRow {
+
+    UUID getClinicId();
+
+    byte[] getOpenHoursBitmap(); // null until backfilled
+}
@@ -49,6 +49,8 @@ public class ClinicResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private Double distance; // For nearby search results
+    private Double roadDistance; // km by road, nearby search only (null when no route)
+    private Integer duration; // minutes by road (ETA), nearby search only
 
     @Getter
     @Setter
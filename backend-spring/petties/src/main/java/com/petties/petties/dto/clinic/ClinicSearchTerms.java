@@ -0,0 +1,19 @@
+package com.petties.petties.dto.clinic;
+
+import java.util.UUID;
+
+/**
+ * Name and location of an approved clinic (loaded into ClinicSuggestIndex)
+ */
+public interface ClinicSearchTerms {
+
+    UUID getClinicId();
+
+    String getName();
+
+    String getProvince();
+
+    String getDistrict();
+
+    String getWard();
+}
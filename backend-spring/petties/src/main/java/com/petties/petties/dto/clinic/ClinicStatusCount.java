@@ -0,0 +1,13 @@
+package com.petties.petties.dto.clinic;
+
+import com.petties.petties.model.enums.ClinicStatus;
+
+/**
+ * Number of (not deleted) clinics in one status
+ */
+public interface ClinicStatusCount {
+
+    ClinicStatus getStatus();
+
+    long getClinicCount();
+}
@@ -0,0 +1,30 @@
+package com.petties.petties.dto.clinic;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Autocomplete suggestion: either a clinic (clinicId set) or a location
+ * tuple (province/district/ward set)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClinicSuggestionResponse {
+
+    public enum Type {
+        CLINIC, LOCATION
+    }
+
+    private Type type;
+    private String text;
+    private UUID clinicId;
+    private String province;
+    private String district;
+    private String ward;
+}
@@ -22,5 +22,6 @@ public class DistanceResponse {
     private Integer duration; // in minutes (optional, if using Distance Matrix API)
     @Builder.Default
     private String durationUnit = "minutes";
+    private boolean estimated; // true when straight-line (Haversine) fallback, not a road route
 }
 
@@ -0,0 +1,14 @@
+package com.petties.petties.dto.clinic;
+
+import java.util.UUID;
+
+/**
+ * One row of a nearby search page: clinic id and its distance (km) from the
+ * search point, as computed by the database
+ */
+public interface NearbyClinicRow {
+
+    UUID getClinicId();
+
+    Double getDistance();
+}
@@ -0,0 +1,62 @@
+package com.petties.petties.dto.clinic;
+
+import com.petties.petties.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset cursor for nearby search: the (distance, clinicId) of the last
+ * clinic of the previous page. Sent to clients as an opaque base64url string.
+ */
+public record NearbyCursor(double distance, UUID clinicId) {
+
+    /**
+     * Position before the first result
+     */
+    public static final NearbyCursor START = new NearbyCursor(-1, new UUID(0, 0));
+
+    /**
+     * Distances this close count as equal when comparing with a cursor: the
+     * in-memory and SQL paths compute the same formula but may differ in the
+     * last bits, and a page may be served by either
+     */
+    public static final double DISTANCE_EPSILON_KM = 1e-9;
+
+    public static NearbyCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf('|');
+            return new NearbyCursor(Double.parseDouble(value.substring(0, separator)),
+                    UUID.fromString(value.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((distance + "|" + clinicId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Whether (otherDistance, otherId) comes after this cursor in result order
+     */
+    public boolean isBefore(double otherDistance, UUID otherId) {
+        if (Math.abs(otherDistance - distance) <= DISTANCE_EPSILON_KM) {
+            return compareIds(otherId, clinicId) > 0;
+        }
+        return otherDistance > distance;
+    }
+
+    /**
+     * Postgres uuid order (unsigned bytes). UUID.compareTo compares the halves
+     * as signed longs, which disagrees for ids with the high bit set.
+     */
+    public static int compareIds(UUID a, UUID b) {
+        int byMost = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return byMost != 0 ? byMost
+                : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,13 @@
+package com.petties.petties.dto.common;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row count and newest updatedAt of a set of rows (ETag version lookups)
+ */
+public interface VersionStamp {
+
+    long getRowCount();
+
+    LocalDateTime getLastModified();
+}
@@ -90,6 +90,13 @@ public class Clinic {
     @Column(name = "operating_hours", columnDefinition = "jsonb")
     private Map<String, OperatingHours> operatingHours = new HashMap<>();
 
+    /**
+     * operatingHours compiled to half-hour slots ({@link OpenHoursBitmap}),
+     * kept in sync on every save
+     */
+    @Column(name = "open_hours_bitmap")
+    private byte[] openHoursBitmap;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private ClinicStatus status = ClinicStatus.PENDING;
@@ -124,4 +131,9 @@ public class Clinic {
     @OneToMany(mappedBy = "clinic")
     private List<ClinicService> services = new ArrayList<>();
 
+    @PrePersist
+    @PreUpdate
+    void compileOpenHours() {
+        openHoursBitmap = OpenHoursBitmap.compile(operatingHours).toBytes();
+    }
 }
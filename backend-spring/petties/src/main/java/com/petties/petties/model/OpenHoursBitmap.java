@@ -0,0 +1,112 @@
+package com.petties.petties.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Compiled weekly opening hours: one bit per half-hour slot, 7 days x 48
+ * slots, Monday 00:00 = slot 0.
+ *
+ * A slot is open when the whole half hour lies between openTime and
+ * closeTime and does not overlap the break; closed days (isClosed) and
+ * missing days have no bits. A closeTime at or before openTime runs past
+ * midnight into the next day.
+ *
+ * Stored next to the JSON as 42 bytes (clinics.open_hours_bitmap) in
+ * Postgres get_bit() order: slot n = bit n % 8 (least significant first) of
+ * byte n / 8.
+ */
+public record OpenHoursBitmap(long[] words) {
+
+    public static final int SLOT_MINUTES = 30;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    public static final int SLOTS = 7 * SLOTS_PER_DAY;
+    public static final int BYTES = SLOTS / 8;
+
+    private static final int WORDS = (SLOTS + 63) / 64;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    public static OpenHoursBitmap compile(Map<String, OperatingHours> operatingHours) {
+        long[] words = new long[WORDS];
+        if (operatingHours == null) {
+            return new OpenHoursBitmap(words);
+        }
+        for (DayOfWeek day : DayOfWeek.values()) {
+            OperatingHours hours = operatingHours.get(day.name());
+            if (hours == null || Boolean.TRUE.equals(hours.getIsClosed())
+                    || hours.getOpenTime() == null || hours.getCloseTime() == null) {
+                continue;
+            }
+            int open = minutes(hours.getOpenTime());
+            int close = minutes(hours.getCloseTime());
+            if (close <= open) {
+                close += MINUTES_PER_DAY; // overnight
+            }
+            int breakStart = hours.getBreakStart() != null ? minutes(hours.getBreakStart()) : -1;
+            int breakEnd = hours.getBreakEnd() != null ? minutes(hours.getBreakEnd()) : -1;
+            boolean hasBreak = breakStart >= 0 && breakEnd > breakStart;
+
+            int dayStart = (day.getValue() - 1) * SLOTS_PER_DAY;
+            int first = (open + SLOT_MINUTES - 1) / SLOT_MINUTES; // first slot fully after opening
+            for (int slot = first; (slot + 1) * SLOT_MINUTES <= close; slot++) {
+                int start = slot * SLOT_MINUTES;
+                if (hasBreak && start < breakEnd && start + SLOT_MINUTES > breakStart) {
+                    continue;
+                }
+                int bit = (dayStart + slot) % SLOTS; // Sunday night wraps to Monday
+                words[bit >>> 6] |= 1L << bit;
+            }
+        }
+        return new OpenHoursBitmap(words);
+    }
+
+    public static OpenHoursBitmap fromBytes(byte[] bytes) {
+        long[] words = new long[WORDS];
+        for (int i = 0; i < Math.min(bytes.length, BYTES); i++) {
+            words[i >>> 3] |= (bytes[i] & 0xffL) << ((i & 7) * 8);
+        }
+        return new OpenHoursBitmap(words);
+    }
+
+    public byte[] toBytes() {
+        byte[] bytes = new byte[BYTES];
+        for (int i = 0; i < BYTES; i++) {
+            bytes[i] = (byte) (words[i >>> 3] >>> ((i & 7) * 8));
+        }
+        return bytes;
+    }
+
+    public static int slotOf(LocalDateTime time) {
+        return (time.getDayOfWeek().getValue() - 1) * SLOTS_PER_DAY + minutes(time.toLocalTime()) / SLOT_MINUTES;
+    }
+
+    public boolean isOpen(int slot) {
+        return (words[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    public boolean isOpenAt(LocalDateTime time) {
+        return isOpen(slotOf(time));
+    }
+
+    private static int minutes(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof OpenHoursBitmap bitmap && Arrays.equals(words, bitmap.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        return "OpenHoursBitmap" + Arrays.toString(words);
+    }
+}
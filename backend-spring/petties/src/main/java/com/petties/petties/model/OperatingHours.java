@@ -3,6 +3,7 @@ package com.petties.petties.model;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.persistence.Embeddable;
 import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -12,8 +13,11 @@ import java.time.LocalTime;
 /**
  * Embeddable class representing operating hours for a clinic
  * Stored as JSON in the database
+ * Value equality lets Hibernate's dirty check see an unchanged
+ * operatingHours map as unchanged (no UPDATE per loaded clinic)
  */
 @Embeddable
+@EqualsAndHashCode
 @Getter
 @Setter
 @NoArgsConstructor
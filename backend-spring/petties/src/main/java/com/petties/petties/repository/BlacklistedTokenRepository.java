@@ -4,9 +4,12 @@ import com.petties.petties.model.BlacklistedToken;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,9 +17,31 @@ import java.util.UUID;
 public interface BlacklistedTokenRepository extends JpaRepository<BlacklistedToken, UUID> {
     
     Optional<BlacklistedToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Tokens that are still revoked (startup backfill of the Redis blacklist)
+     */
+    List<BlacklistedToken> findByExpiresAtAfter(LocalDateTime now);
     
     @Modifying
     @Query("DELETE FROM BlacklistedToken bt WHERE bt.expiresAt < :now")
     void deleteExpiredTokens(LocalDateTime now);
-}
 
+    /**
+     * Delete one bounded batch of expired tokens (Postgres ctid + LIMIT keeps
+     * each statement short so it never holds locks on the whole table).
+     * Runs in its own transaction per batch.
+     *
+     * @return number of rows deleted
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM blacklisted_tokens
+            WHERE ctid IN (
+                SELECT ctid FROM blacklisted_tokens
+                WHERE expires_at < :now
+                LIMIT :batchSize)
+            """, nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+}
@@ -2,8 +2,11 @@ package com.petties.petties.repository;
 
 import com.petties.petties.model.ClinicImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,6 +19,12 @@ public interface ClinicImageRepository extends JpaRepository<ClinicImage, UUID>
      */
     List<ClinicImage> findByClinicClinicIdOrderByDisplayOrderAsc(UUID clinicId);
 
+    /**
+     * Images of several clinics in one query (clinic list pages)
+     */
+    @Query("SELECT i FROM ClinicImage i WHERE i.clinic.clinicId IN :clinicIds")
+    List<ClinicImage> findByClinicIds(@Param("clinicIds") Collection<UUID> clinicIds);
+
     /**
      * Find image by ID and clinic ID
      */
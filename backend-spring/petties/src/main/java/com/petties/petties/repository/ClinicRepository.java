@@ -1,16 +1,33 @@
 package com.petties.petties.repository;
 
+import com.petties.petties.dto.clinic.ClinicDetailVersion;
+import com.petties.petties.dto.clinic.ClinicGeoPoint;
+import com.petties.petties.dto.clinic.ClinicListCursor;
 import com.petties.petties.dto.clinic.ClinicLocationResponse;
+import com.petties.petties.dto.clinic.ClinicOpenHoursRow;
+import com.petties.petties.dto.clinic.ClinicSearchTerms;
+import com.petties.petties.dto.clinic.ClinicStatusCount;
+import com.petties.petties.dto.clinic.NearbyClinicRow;
+import com.petties.petties.dto.clinic.NearbyCursor;
 import com.petties.petties.model.Clinic;
 import com.petties.petties.model.enums.ClinicStatus;
+import com.petties.petties.util.GeoBoundingBox;
+import com.petties.petties.util.LikePatterns;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -24,9 +41,30 @@ public interface ClinicRepository extends JpaRepository<Clinic, UUID> {
         @Query("SELECT c FROM Clinic c WHERE c.clinicId = :id AND c.deletedAt IS NULL")
         Optional<Clinic> findByIdAndNotDeleted(@Param("id") UUID id);
 
+        /**
+         * Clinic detail read: owner and images in the same query
+         */
+        @EntityGraph(attributePaths = { "owner", "images" })
+        @Query("SELECT c FROM Clinic c WHERE c.clinicId = :id AND c.deletedAt IS NULL")
+        Optional<Clinic> findDetailById(@Param("id") UUID id);
+
+        /**
+         * Version lookup for the detail ETag: no joins beyond the owner
+         */
+        @Query("SELECT c.updatedAt AS updatedAt, o.updatedAt AS ownerUpdatedAt " +
+                        "FROM Clinic c JOIN c.owner o WHERE c.clinicId = :id AND c.deletedAt IS NULL")
+        Optional<ClinicDetailVersion> findDetailVersion(@Param("id") UUID id);
+
+        /**
+         * Clinics of a nearby page, owner fetched in the same query
+         */
+        @EntityGraph(attributePaths = "owner")
+        List<Clinic> findByClinicIdIn(Collection<UUID> clinicIds);
+
         /**
          * Find all clinics by status
          */
+        @EntityGraph(attributePaths = "owner")
         Page<Clinic> findByStatus(ClinicStatus status, Pageable pageable);
 
         /**
@@ -37,9 +75,16 @@ public interface ClinicRepository extends JpaRepository<Clinic, UUID> {
         /**
          * Find ALL clinics by owner (any status, excluding soft deleted)
          */
+        @EntityGraph(attributePaths = "owner")
         @Query("SELECT c FROM Clinic c WHERE c.owner.userId = :ownerId AND c.deletedAt IS NULL")
         Page<Clinic> findByOwnerUserId(@Param("ownerId") UUID ownerId, Pageable pageable);
 
+        /**
+         * Ids of the owner's clinics, whose detail embeds the owner's profile
+         */
+        @Query("SELECT c.clinicId FROM Clinic c WHERE c.owner.userId = :ownerId AND c.deletedAt IS NULL")
+        List<UUID> findClinicIdsByOwnerUserId(@Param("ownerId") UUID ownerId);
+
         /**
          * Find a single clinic by owner (for current user's clinic)
          */
@@ -48,32 +93,156 @@ public interface ClinicRepository extends JpaRepository<Clinic, UUID> {
         /**
          * Search clinics by name (case-insensitive)
          */
+        @EntityGraph(attributePaths = "owner")
         @Query("SELECT c FROM Clinic c WHERE LOWER(c.name) LIKE LOWER(CONCAT('%', :name, '%')) AND c.deletedAt IS NULL")
         Page<Clinic> searchByName(@Param("name") String name, Pageable pageable);
 
         /**
-         * Find nearby clinics using Haversine formula
-         * Radius in kilometers
+         * Find one page of nearby clinics using Haversine formula, ordered by
+         * (distance, clinic_id). Radius in kilometers.
+         * Pass NearbyCursor.START for offset paging, or the last row of the
+         * previous page (with offset 0) for keyset paging.
+         *
+         * @param openSlot only clinics open in this OpenHoursBitmap slot, or -1
+         *                 for any
+         */
+        default List<NearbyClinicRow> findNearbyClinics(BigDecimal latitude, BigDecimal longitude, double radius,
+                        int openSlot, NearbyCursor after, int limit, long offset) {
+                GeoBoundingBox box = GeoBoundingBox.around(latitude.doubleValue(), longitude.doubleValue(), radius);
+                return findNearbyClinicRowsInBox(latitude, longitude, radius,
+                                decimal(box.minLat()), decimal(box.maxLat()), decimal(box.minLng()),
+                                decimal(box.maxLng()), openSlot,
+                                after.distance(), after.clinicId(), NearbyCursor.DISTANCE_EPSILON_KM, limit, offset);
+        }
+
+        /**
+         * Count clinics within radius (total for the nearby page)
+         */
+        default long countNearbyClinics(BigDecimal latitude, BigDecimal longitude, double radius, int openSlot) {
+                GeoBoundingBox box = GeoBoundingBox.around(latitude.doubleValue(), longitude.doubleValue(), radius);
+                return countNearbyClinicsInBox(latitude, longitude, radius,
+                                decimal(box.minLat()), decimal(box.maxLat()), decimal(box.minLng()),
+                                decimal(box.maxLng()), openSlot);
+        }
+
+        /**
+         * Box bounds are bound as numeric like the latitude/longitude columns;
+         * a double would make Postgres cast the column and skip the index
+         */
+        private static BigDecimal decimal(double degrees) {
+                return BigDecimal.valueOf(degrees);
+        }
+
+        /**
+         * Nearby search with a bounding-box prefilter: the box predicate uses
+         * idx_clinics_approved_location, exact Haversine is computed once per
+         * candidate inside the box, in the same asin form as
+         * {@link com.petties.petties.util.Haversine} so both nearby paths give
+         * a row the same distance. LEAST(1, ...) keeps asin in its domain.
+         * Distances within :epsilon of the cursor count as equal, so the last
+         * digit of a cursor from the in-memory path cannot repeat or skip its
+         * row here.
+         * Only ids and distances are returned, so memory stays flat however
+         * large the radius. openSlot >= 0 keeps clinics whose
+         * open_hours_bitmap has that bit set (GREATEST keeps get_bit in range
+         * when the filter is off).
          */
         @Query(value = """
-                        SELECT c.*,
-                               (6371 * acos(cos(radians(:lat)) * cos(radians(c.latitude)) *
-                               cos(radians(c.longitude) - radians(:lng)) +
-                               sin(radians(:lat)) * sin(radians(c.latitude)))) AS distance
+                        SELECT candidates.clinic_id AS "clinicId", candidates.distance AS "distance"
+                        FROM (SELECT c.clinic_id,
+                                     (2 * 6371 * asin(LEAST(1.0, sqrt(
+                                         power(sin((radians(c.latitude) - radians(:lat)) / 2), 2) +
+                                         cos(radians(:lat)) * cos(radians(c.latitude)) *
+                                         power(sin((radians(c.longitude) - radians(:lng)) / 2), 2))))) AS distance
+                              FROM clinics c
+                              WHERE c.deleted_at IS NULL
+                                AND c.status = 'APPROVED'
+                                AND c.latitude BETWEEN :minLat AND :maxLat
+                                AND c.longitude BETWEEN :minLng AND :maxLng
+                                AND (:openSlot < 0 OR get_bit(c.open_hours_bitmap, GREATEST(:openSlot, 0)) = 1)) candidates
+                        WHERE candidates.distance <= :radius
+                          AND (candidates.distance > :afterDistance + :epsilon
+                               OR (candidates.distance >= :afterDistance - :epsilon
+                                   AND candidates.clinic_id > :afterId))
+                        ORDER BY candidates.distance, candidates.clinic_id
+                        LIMIT :limit OFFSET :offset
+                        """, nativeQuery = true)
+        List<NearbyClinicRow> findNearbyClinicRowsInBox(
+                        @Param("lat") BigDecimal latitude,
+                        @Param("lng") BigDecimal longitude,
+                        @Param("radius") double radius,
+                        @Param("minLat") BigDecimal minLat,
+                        @Param("maxLat") BigDecimal maxLat,
+                        @Param("minLng") BigDecimal minLng,
+                        @Param("maxLng") BigDecimal maxLng,
+                        @Param("openSlot") int openSlot,
+                        @Param("afterDistance") double afterDistance,
+                        @Param("afterId") UUID afterId,
+                        @Param("epsilon") double epsilon,
+                        @Param("limit") int limit,
+                        @Param("offset") long offset);
+
+        @Query(value = """
+                        SELECT count(*)
                         FROM clinics c
                         WHERE c.deleted_at IS NULL
                           AND c.status = 'APPROVED'
-                          AND c.latitude IS NOT NULL
-                          AND c.longitude IS NOT NULL
-                          AND (6371 * acos(cos(radians(:lat)) * cos(radians(c.latitude)) *
-                               cos(radians(c.longitude) - radians(:lng)) +
-                               sin(radians(:lat)) * sin(radians(c.latitude)))) <= :radius
-                        ORDER BY distance
+                          AND c.latitude BETWEEN :minLat AND :maxLat
+                          AND c.longitude BETWEEN :minLng AND :maxLng
+                          AND (:openSlot < 0 OR get_bit(c.open_hours_bitmap, GREATEST(:openSlot, 0)) = 1)
+                          AND (2 * 6371 * asin(LEAST(1.0, sqrt(
+                               power(sin((radians(c.latitude) - radians(:lat)) / 2), 2) +
+                               cos(radians(:lat)) * cos(radians(c.latitude)) *
+                               power(sin((radians(c.longitude) - radians(:lng)) / 2), 2))))) <= :radius
                         """, nativeQuery = true)
-        List<Clinic> findNearbyClinics(
+        long countNearbyClinicsInBox(
                         @Param("lat") BigDecimal latitude,
                         @Param("lng") BigDecimal longitude,
-                        @Param("radius") double radius);
+                        @Param("radius") double radius,
+                        @Param("minLat") BigDecimal minLat,
+                        @Param("maxLat") BigDecimal maxLat,
+                        @Param("minLng") BigDecimal minLng,
+                        @Param("maxLng") BigDecimal maxLng,
+                        @Param("openSlot") int openSlot);
+
+        /**
+         * Accent-insensitive full-text search over approved clinics
+         * (V202610170300): matches the tsvector over name, district, province
+         * and address, or a fuzzy/substring match on the name via the trigram
+         * index. Ranked by ts_rank + name similarity.
+         * % and _ in the query match literally in the substring test.
+         */
+        default Page<Clinic> fullTextSearch(String query, Pageable pageable) {
+                return fullTextSearch(query, LikePatterns.escape(query), pageable);
+        }
+
+        /**
+         * @param likeQuery the query escaped for LIKE (backslash escapes)
+         */
+        @Query(value = """
+                        SELECT c.*
+                        FROM clinics c
+                        WHERE c.deleted_at IS NULL
+                          AND c.status = 'APPROVED'
+                          AND (c.search_vector @@ plainto_tsquery('simple', immutable_unaccent(lower(:query)))
+                               OR immutable_unaccent(lower(c.name)) % immutable_unaccent(lower(:query))
+                               OR immutable_unaccent(lower(c.name))
+                                  LIKE '%' || immutable_unaccent(lower(:likeQuery)) || '%' ESCAPE '\\')
+                        ORDER BY ts_rank(c.search_vector, plainto_tsquery('simple', immutable_unaccent(lower(:query))))
+                                 + similarity(immutable_unaccent(lower(c.name)), immutable_unaccent(lower(:query))) DESC,
+                                 c.clinic_id
+                        """, countQuery = """
+                        SELECT count(*)
+                        FROM clinics c
+                        WHERE c.deleted_at IS NULL
+                          AND c.status = 'APPROVED'
+                          AND (c.search_vector @@ plainto_tsquery('simple', immutable_unaccent(lower(:query)))
+                               OR immutable_unaccent(lower(c.name)) % immutable_unaccent(lower(:query))
+                               OR immutable_unaccent(lower(c.name))
+                                  LIKE '%' || immutable_unaccent(lower(:likeQuery)) || '%' ESCAPE '\\')
+                        """, nativeQuery = true)
+        Page<Clinic> fullTextSearch(@Param("query") String query, @Param("likeQuery") String likeQuery,
+                        Pageable pageable);
 
         /**
          * Find clinics with filters
@@ -82,11 +251,56 @@ public interface ClinicRepository extends JpaRepository<Clinic, UUID> {
                         "(:status IS NULL OR c.status = :status) AND " +
                         "(:name IS NULL OR :name = '' OR LOWER(c.name) LIKE LOWER(CONCAT('%', :name, '%'))) AND " +
                         "c.deletedAt IS NULL")
+        @EntityGraph(attributePaths = "owner")
         Page<Clinic> findWithFilters(
                         @Param("status") ClinicStatus status,
                         @Param("name") String name,
                         Pageable pageable);
 
+        /**
+         * Keyset page of {@link #findWithFilters}: the clinics after the cursor
+         * in (createdAt, clinicId) order, without a COUNT query. The cursor
+         * is a row-value comparison, which Postgres uses as the start of a
+         * (status, created_at, clinic_id) index range scan however deep the
+         * page is; the equivalent OR form is only a filter.
+         */
+        default List<Clinic> findWithFiltersAfter(ClinicStatus status, String name, ClinicListCursor cursor,
+                        int limit) {
+                return cursor.direction() == Sort.Direction.ASC
+                                ? findWithFiltersCreatedAfter(status, name, cursor.createdAt(), cursor.clinicId(),
+                                                Limit.of(limit))
+                                : findWithFiltersCreatedBefore(status, name, cursor.createdAt(), cursor.clinicId(),
+                                                Limit.of(limit));
+        }
+
+        @Query("SELECT c FROM Clinic c WHERE " +
+                        "(:status IS NULL OR c.status = :status) AND " +
+                        "(:name IS NULL OR :name = '' OR LOWER(c.name) LIKE LOWER(CONCAT('%', :name, '%'))) AND " +
+                        "c.deletedAt IS NULL AND " +
+                        "(c.createdAt, c.clinicId) > (:createdAt, :clinicId) " +
+                        "ORDER BY c.createdAt ASC, c.clinicId ASC")
+        @EntityGraph(attributePaths = "owner")
+        List<Clinic> findWithFiltersCreatedAfter(
+                        @Param("status") ClinicStatus status,
+                        @Param("name") String name,
+                        @Param("createdAt") LocalDateTime createdAt,
+                        @Param("clinicId") UUID clinicId,
+                        Limit limit);
+
+        @Query("SELECT c FROM Clinic c WHERE " +
+                        "(:status IS NULL OR c.status = :status) AND " +
+                        "(:name IS NULL OR :name = '' OR LOWER(c.name) LIKE LOWER(CONCAT('%', :name, '%'))) AND " +
+                        "c.deletedAt IS NULL AND " +
+                        "(c.createdAt, c.clinicId) < (:createdAt, :clinicId) " +
+                        "ORDER BY c.createdAt DESC, c.clinicId DESC")
+        @EntityGraph(attributePaths = "owner")
+        List<Clinic> findWithFiltersCreatedBefore(
+                        @Param("status") ClinicStatus status,
+                        @Param("name") String name,
+                        @Param("createdAt") LocalDateTime createdAt,
+                        @Param("clinicId") UUID clinicId,
+                        Limit limit);
+
         /**
          * Check if clinic exists and belongs to owner
          */
@@ -102,6 +316,13 @@ public interface ClinicRepository extends JpaRepository<Clinic, UUID> {
          */
         long countByStatus(ClinicStatus status);
 
+        /**
+         * Clinic totals of every status in one scan (ClinicStatusCounts)
+         */
+        @Query("SELECT c.status AS status, COUNT(c) AS clinicCount FROM Clinic c " +
+                        "WHERE c.deletedAt IS NULL GROUP BY c.status")
+        List<ClinicStatusCount> countGroupedByStatus();
+
         /**
          * Get all unique locations that have approved clinics
          */
@@ -111,4 +332,36 @@ public interface ClinicRepository extends JpaRepository<Clinic, UUID> {
                         "WHERE c.status = 'APPROVED' AND c.deletedAt IS NULL " +
                         "ORDER BY c.province, c.district, c.ward")
         List<ClinicLocationResponse> findActiveLocations();
+
+        /**
+         * Coordinates of all approved clinics (ClinicGeoIndex load/reconcile)
+         */
+        @Query("SELECT new com.petties.petties.dto.clinic.ClinicGeoPoint(c.clinicId, c.latitude, c.longitude) " +
+                        "FROM Clinic c " +
+                        "WHERE c.status = 'APPROVED' AND c.deletedAt IS NULL " +
+                        "AND c.latitude IS NOT NULL AND c.longitude IS NOT NULL")
+        List<ClinicGeoPoint> findApprovedGeoPoints();
+
+        /**
+         * Names and locations of all approved clinics (ClinicSuggestIndex load)
+         */
+        @Query("SELECT c.clinicId AS clinicId, c.name AS name, c.province AS province, " +
+                        "c.district AS district, c.ward AS ward " +
+                        "FROM Clinic c WHERE c.status = 'APPROVED' AND c.deletedAt IS NULL")
+        List<ClinicSearchTerms> findApprovedSearchTerms();
+
+        /**
+         * Compiled opening hours of all approved clinics (ClinicOpenHoursIndex load)
+         */
+        @Query("SELECT c.clinicId AS clinicId, c.openHoursBitmap AS openHoursBitmap " +
+                        "FROM Clinic c WHERE c.status = 'APPROVED' AND c.deletedAt IS NULL")
+        List<ClinicOpenHoursRow> findApprovedOpenHours();
+
+        /**
+         * Backfill open_hours_bitmap without touching updated_at
+         */
+        @Transactional
+        @Modifying
+        @Query("UPDATE Clinic c SET c.openHoursBitmap = :bitmap WHERE c.clinicId = :clinicId")
+        int updateOpenHoursBitmap(@Param("clinicId") UUID clinicId, @Param("bitmap") byte[] bitmap);
 }
@@ -1,9 +1,12 @@
 package com.petties.petties.repository;
 
+import com.petties.petties.dto.common.VersionStamp;
 import com.petties.petties.model.Clinic;
 import com.petties.petties.model.ClinicService;
 import com.petties.petties.model.MasterService;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -19,4 +22,15 @@ public interface ClinicServiceRepository extends JpaRepository<ClinicService, UU
     List<ClinicService> findByClinicAndIsHomeVisit(Clinic clinic, Boolean isHomeVisit);
 
     boolean existsByClinicAndMasterService(Clinic clinic, MasterService masterService);
+
+    /**
+     * Version lookup for the ETag of a clinic's service list
+     */
+    @Query("SELECT count(s) AS rowCount, max(s.updatedAt) AS lastModified FROM ClinicService s " +
+            "WHERE s.clinic = :clinic")
+    VersionStamp findVersionByClinic(@Param("clinic") Clinic clinic);
+
+    @Query("SELECT count(w) AS rowCount, max(w.updatedAt) AS lastModified FROM ServiceWeightPrice w " +
+            "WHERE w.service.clinic = :clinic")
+    VersionStamp findWeightPricesVersionByClinic(@Param("clinic") Clinic clinic);
 }
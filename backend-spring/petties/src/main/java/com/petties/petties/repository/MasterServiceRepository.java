@@ -1,5 +1,6 @@
 package com.petties.petties.repository;
 
+import com.petties.petties.dto.common.VersionStamp;
 import com.petties.petties.model.MasterService;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -36,4 +37,12 @@ public interface MasterServiceRepository extends JpaRepository<MasterService, UU
     // Find all với weightPrices
     @Query("SELECT DISTINCT ms FROM MasterService ms LEFT JOIN FETCH ms.weightPrices")
     List<MasterService> findAllWithWeightPrices();
+
+    // Version lookup for the master service list ETag
+    @Query("SELECT count(ms) AS rowCount, max(ms.updatedAt) AS lastModified FROM MasterService ms")
+    VersionStamp findVersion();
+
+    @Query("SELECT count(w) AS rowCount, max(w.updatedAt) AS lastModified FROM ServiceWeightPrice w " +
+            "WHERE w.masterService IS NOT NULL")
+    VersionStamp findWeightPricesVersion();
 }
@@ -4,7 +4,9 @@ import com.petties.petties.model.RefreshToken;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -21,8 +23,35 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID
     @Query("DELETE FROM RefreshToken rt WHERE rt.userId = :userId")
     void deleteAllByUserId(UUID userId);
     
+    /**
+     * Consume one token of the user (rotation). The row lock makes a second
+     * concurrent delete of the same token wait and then delete nothing.
+     *
+     * @return 1 if this call removed the token, 0 if it was already gone
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken rt WHERE rt.tokenHash = :tokenHash AND rt.userId = :userId")
+    int deleteByTokenHashAndUserId(@Param("tokenHash") String tokenHash, @Param("userId") UUID userId);
+
     @Modifying
     @Query("DELETE FROM RefreshToken rt WHERE rt.expiresAt < :now")
     void deleteExpiredTokens(LocalDateTime now);
-}
 
+    /**
+     * Delete one bounded batch of expired tokens (Postgres ctid + LIMIT keeps
+     * each statement short so it never holds locks on the whole table).
+     * Runs in its own transaction per batch.
+     *
+     * @return number of rows deleted
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM refresh_tokens
+            WHERE ctid IN (
+                SELECT ctid FROM refresh_tokens
+                WHERE expires_at < :now
+                LIMIT :batchSize)
+            """, nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+}
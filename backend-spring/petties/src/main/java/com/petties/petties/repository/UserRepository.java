@@ -46,4 +46,27 @@ public interface UserRepository extends JpaRepository<User, UUID> {
      */
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.workingClinic WHERE u.userId = :userId AND u.deletedAt IS NULL")
     Optional<User> findByIdWithWorkingClinic(@Param("userId") UUID userId);
+
+    /**
+     * Find-or-create for Google Sign-In in one statement: insert the user if
+     * no row conflicts, otherwise return the existing active user by email.
+     * Returns empty if a concurrent insert is not yet visible or the email
+     * belongs to a soft-deleted user.
+     */
+    @Query(value = """
+            WITH inserted AS (
+                INSERT INTO users (user_id, username, email, full_name, password, role, avatar, created_at, updated_at)
+                VALUES (gen_random_uuid(), :email, :email, :fullName, :password, :role, :avatar, now(), now())
+                ON CONFLICT DO NOTHING
+                RETURNING *)
+            SELECT * FROM inserted
+            UNION ALL
+            SELECT * FROM users WHERE email = :email AND deleted_at IS NULL
+            LIMIT 1
+            """, nativeQuery = true)
+    Optional<User> upsertGoogleUser(@Param("email") String email,
+            @Param("fullName") String fullName,
+            @Param("password") String password,
+            @Param("role") String role,
+            @Param("avatar") String avatar);
 }
@@ -0,0 +1,82 @@
+package com.petties.petties.scheduler;
+
+import com.petties.petties.repository.BlacklistedTokenRepository;
+import com.petties.petties.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.function.BiFunction;
+
+/**
+ * Scheduled purge of expired rows in refresh_tokens and blacklisted_tokens.
+ *
+ * Deletes in bounded batches (one short transaction per batch) and pauses
+ * between batches so the job never holds more than one pooled connection
+ * for long - prod/test run a 5-connection Hikari pool.
+ *
+ * Metrics:
+ * - petties.tokens.purged{table} - rows deleted
+ * - petties.tokens.purge.duration{table} - time per table per run
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "token-purge.enabled", havingValue = "true", matchIfMissing = true)
+public class TokenPurgeJob {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final BlacklistedTokenRepository blacklistedTokenRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${token-purge.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${token-purge.max-batches:100}")
+    private int maxBatches; // upper bound per table per run
+
+    @Value("${token-purge.pause-ms:50}")
+    private long pauseMs; // nhường connection pool giữa các batch
+
+    @Scheduled(cron = "${token-purge.cron:0 15 3 * * *}")
+    public void purgeExpiredTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        purge("refresh_tokens", now, refreshTokenRepository::deleteExpiredBatch);
+        purge("blacklisted_tokens", now, blacklistedTokenRepository::deleteExpiredBatch);
+    }
+
+    private void purge(String table, LocalDateTime now, BiFunction<LocalDateTime, Integer, Integer> deleteBatch) {
+        Counter purged = meterRegistry.counter("petties.tokens.purged", "table", table);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long total = 0;
+        int batches = 0;
+
+        try {
+            while (batches < maxBatches) {
+                int deleted = deleteBatch.apply(now, batchSize);
+                batches++;
+                total += deleted;
+                purged.increment(deleted);
+                if (deleted < batchSize) {
+                    break;
+                }
+                Thread.sleep(pauseMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Token purge failed for table {} after {} rows", table, total, e);
+        } finally {
+            long nanos = sample.stop(meterRegistry.timer("petties.tokens.purge.duration", "table", table));
+            log.info("Purged {} expired rows from {} in {} batches ({} ms)",
+                    total, table, batches, nanos / 1_000_000);
+        }
+    }
+}
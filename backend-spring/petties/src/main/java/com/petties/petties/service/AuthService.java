@@ -10,12 +10,8 @@ import com.petties.petties.exception.ForbiddenException;
 import com.petties.petties.exception.ResourceAlreadyExistsException;
 import com.petties.petties.exception.ResourceNotFoundException;
 import com.petties.petties.exception.UnauthorizedException;
-import com.petties.petties.model.BlacklistedToken;
-import com.petties.petties.model.RefreshToken;
 import com.petties.petties.model.User;
 import com.petties.petties.model.enums.Role;
-import com.petties.petties.repository.BlacklistedTokenRepository;
-import com.petties.petties.repository.RefreshTokenRepository;
 import com.petties.petties.repository.UserRepository;
 import com.petties.petties.util.TokenUtil;
 import lombok.RequiredArgsConstructor;
@@ -27,8 +23,10 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
-import org.springframework.dao.DataIntegrityViolationException;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -42,11 +40,18 @@ public class AuthService {
         private final PasswordEncoder passwordEncoder;
         private final JwtTokenProvider tokenProvider;
         private final AuthenticationManager authenticationManager;
-        private final RefreshTokenRepository refreshTokenRepository;
-        private final BlacklistedTokenRepository blacklistedTokenRepository;
+        private final RefreshTokenService refreshTokenService;
+        private final TokenBlacklistService tokenBlacklistService;
         private final GoogleAuthService googleAuthService;
+        private final TransactionTemplate transactionTemplate;
 
-        @Transactional
+        private static final String CURRENT_USER_ATTRIBUTE = AuthService.class.getName() + ".CURRENT_USER";
+        private static final String GOOGLE_PASSWORD_PLACEHOLDER_PREFIX = "{google}";
+
+        /**
+         * BCrypt runs before the transaction opens, so a slow hash never holds
+         * a pooled connection (unique constraints still guard the insert)
+         */
         public AuthResponse register(RegisterRequest request) {
                 // Check if username or email already exists
                 if (userRepository.existsByUsername(request.getUsername())) {
@@ -57,10 +62,15 @@ public class AuthService {
                         throw new ResourceAlreadyExistsException("Email already exists");
                 }
 
+                String encodedPassword = passwordEncoder.encode(request.getPassword());
+                return transactionTemplate.execute(status -> createUser(request, encodedPassword));
+        }
+
+        private AuthResponse createUser(RegisterRequest request, String encodedPassword) {
                 // Create new user
                 User user = new User();
                 user.setUsername(request.getUsername());
-                user.setPassword(passwordEncoder.encode(request.getPassword()));
+                user.setPassword(encodedPassword);
                 user.setEmail(request.getEmail());
                 user.setPhone(request.getPhone());
                 user.setFullName(request.getFullName());
@@ -93,7 +103,11 @@ public class AuthService {
                                 .build();
         }
 
-        @Transactional
+        /**
+         * Password check runs outside any transaction (the user lookup
+         * releases its connection before BCrypt starts); only the token
+         * writes are transactional
+         */
         public AuthResponse login(LoginRequest request) {
                 Authentication authentication = authenticationManager.authenticate(
                                 new UsernamePasswordAuthenticationToken(
@@ -105,6 +119,10 @@ public class AuthService {
                 UserDetailsServiceImpl.UserPrincipal userPrincipal = (UserDetailsServiceImpl.UserPrincipal) authentication
                                 .getPrincipal();
 
+                return transactionTemplate.execute(status -> issueLoginTokens(userPrincipal));
+        }
+
+        private AuthResponse issueLoginTokens(UserDetailsServiceImpl.UserPrincipal userPrincipal) {
                 String token = tokenProvider.generateToken(
                                 userPrincipal.getUserId(),
                                 userPrincipal.getUsername(),
@@ -118,11 +136,8 @@ public class AuthService {
                                 user.getUserId(),
                                 user.getUsername());
 
-                // Delete old refresh tokens for this user (rotation)
-                refreshTokenRepository.deleteAllByUserId(user.getUserId());
-
-                // Save new refresh token
-                saveRefreshToken(user.getUserId(), refreshToken);
+                // Replace old refresh tokens for this user with the new one
+                replaceRefreshTokens(user.getUserId(), refreshToken);
 
                 return AuthResponse.builder()
                                 .accessToken(token)
@@ -142,49 +157,41 @@ public class AuthService {
 
         @Transactional
         public AuthResponse refreshToken(String refreshToken) {
-                // Validate token format and expiration
-                if (!tokenProvider.validateToken(refreshToken)) {
-                        throw new UnauthorizedException("Invalid or expired refresh token");
-                }
+                // Validate token format and expiration (parsed once, claims reused below)
+                JwtTokenProvider.VerifiedToken verified = tokenProvider.verifyToken(refreshToken)
+                                .orElseThrow(() -> new UnauthorizedException("Invalid or expired refresh token"));
 
                 // Check if it's actually a refresh token
-                String tokenType = tokenProvider.getTokenType(refreshToken);
-                if (!"refresh".equals(tokenType)) {
+                if (!verified.isRefreshToken()) {
                         throw new UnauthorizedException("Invalid token type");
                 }
 
-                // Check if token exists in database
-                String tokenHash = TokenUtil.hashToken(refreshToken);
-                RefreshToken storedToken = refreshTokenRepository.findByTokenHash(tokenHash)
-                                .orElseThrow(() -> new UnauthorizedException("Refresh token not found"));
+                String username = verified.username();
+                UUID userId = verified.userId();
 
-                // Check if token is expired
-                if (storedToken.isExpired()) {
-                        refreshTokenRepository.delete(storedToken);
+                // Rotate: old token is consumed and the new one stored in a single step
+                String newRefreshToken = tokenProvider.generateRefreshToken(
+                                userId,
+                                username);
+                RefreshTokenService.RotationResult rotation = refreshTokenService.rotate(
+                                userId,
+                                TokenUtil.hashToken(refreshToken),
+                                TokenUtil.hashToken(newRefreshToken),
+                                refreshTokenExpiry(newRefreshToken));
+                if (rotation == RefreshTokenService.RotationResult.NOT_FOUND) {
+                        throw new UnauthorizedException("Refresh token not found");
+                }
+                if (rotation == RefreshTokenService.RotationResult.EXPIRED) {
                         throw new UnauthorizedException("Refresh token expired");
                 }
 
-                // Get user info
-                String username = tokenProvider.getUsernameFromToken(refreshToken);
-                UUID userId = tokenProvider.getUserIdFromToken(refreshToken);
-
                 User user = userRepository.findById(userId)
                                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-                // Generate new tokens
                 String newAccessToken = tokenProvider.generateToken(
                                 userId,
                                 username,
                                 user.getRole().name());
-                String newRefreshToken = tokenProvider.generateRefreshToken(
-                                userId,
-                                username);
-
-                // Delete old refresh token (rotation)
-                refreshTokenRepository.delete(storedToken);
-
-                // Save new refresh token
-                saveRefreshToken(userId, newRefreshToken);
 
                 return AuthResponse.builder()
                                 .accessToken(newAccessToken)
@@ -204,46 +211,48 @@ public class AuthService {
 
         @Transactional
         public void logout(String accessToken) {
-                if (!tokenProvider.validateToken(accessToken)) {
-                        throw new UnauthorizedException("Invalid access token");
-                }
+                JwtTokenProvider.VerifiedToken verified = tokenProvider.verifyToken(accessToken)
+                                .orElseThrow(() -> new UnauthorizedException("Invalid access token"));
 
                 // Check if it's an access token
-                String tokenType = tokenProvider.getTokenType(accessToken);
-                if (!"access".equals(tokenType)) {
+                if (!verified.isAccessToken()) {
                         throw new UnauthorizedException("Invalid token type");
                 }
 
-                UUID userId = tokenProvider.getUserIdFromToken(accessToken);
+                UUID userId = verified.userId();
                 LocalDateTime expiresAt = LocalDateTime.ofInstant(
-                                tokenProvider.getExpirationDateFromToken(accessToken).toInstant(),
+                                verified.expiration().toInstant(),
                                 java.time.ZoneId.systemDefault());
 
-                // Blacklist the access token
-                String tokenHash = TokenUtil.hashToken(accessToken);
-                BlacklistedToken blacklistedToken = new BlacklistedToken();
-                blacklistedToken.setTokenHash(tokenHash);
-                blacklistedToken.setUserId(userId);
-                blacklistedToken.setExpiresAt(expiresAt);
-                blacklistedTokenRepository.save(blacklistedToken);
+                // Blacklist the access token (audit row + Redis + pub/sub to other nodes)
+                tokenBlacklistService.blacklist(TokenUtil.hashToken(accessToken), userId, expiresAt);
 
-                // Delete all refresh tokens for this user
-                refreshTokenRepository.deleteAllByUserId(userId);
+                // Revoke all refresh tokens for this user
+                refreshTokenService.revokeAll(userId);
         }
 
         private void saveRefreshToken(UUID userId, String refreshToken) {
-                String tokenHash = TokenUtil.hashToken(refreshToken);
-                LocalDateTime expiresAt = LocalDateTime.ofInstant(
+                refreshTokenService.save(userId, TokenUtil.hashToken(refreshToken), refreshTokenExpiry(refreshToken));
+        }
+
+        private void replaceRefreshTokens(UUID userId, String refreshToken) {
+                refreshTokenService.replaceAll(userId, TokenUtil.hashToken(refreshToken),
+                                refreshTokenExpiry(refreshToken));
+        }
+
+        private LocalDateTime refreshTokenExpiry(String refreshToken) {
+                return LocalDateTime.ofInstant(
                                 tokenProvider.getExpirationDateFromToken(refreshToken).toInstant(),
                                 java.time.ZoneId.systemDefault());
-
-                RefreshToken token = new RefreshToken();
-                token.setUserId(userId);
-                token.setTokenHash(tokenHash);
-                token.setExpiresAt(expiresAt);
-                refreshTokenRepository.save(token);
         }
 
+        /**
+         * Get the authenticated user entity.
+         * Memoized per request (request attribute), so repeated calls from
+         * controllers, services and log statements hit the users table at most
+         * once. Async tasks see the same request attributes through
+         * AsyncConfig's TaskDecorator while the request is still active.
+         */
         public User getCurrentUser() {
                 Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
@@ -254,6 +263,17 @@ public class AuthService {
 
                 Object principal = authentication.getPrincipal();
 
+                User cached = getRequestCachedUser();
+                if (cached != null && isSamePrincipal(cached, principal)) {
+                        return cached;
+                }
+
+                User user = loadCurrentUser(principal);
+                cacheUserForRequest(user);
+                return user;
+        }
+
+        private User loadCurrentUser(Object principal) {
                 if (principal instanceof UserDetailsServiceImpl.UserPrincipal) {
                         UserDetailsServiceImpl.UserPrincipal userPrincipal = (UserDetailsServiceImpl.UserPrincipal) principal;
                         return userRepository.findById(userPrincipal.getUserId())
@@ -281,6 +301,39 @@ public class AuthService {
                 throw new UnauthorizedException("Could not extract user information from security context");
         }
 
+        private boolean isSamePrincipal(User user, Object principal) {
+                if (principal instanceof UserDetailsServiceImpl.UserPrincipal userPrincipal) {
+                        return user.getUserId().equals(userPrincipal.getUserId());
+                }
+                return principal instanceof String username && username.equals(user.getUsername());
+        }
+
+        private User getRequestCachedUser() {
+                RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+                if (attributes == null) {
+                        return null;
+                }
+                try {
+                        return attributes.getAttribute(CURRENT_USER_ATTRIBUTE,
+                                        RequestAttributes.SCOPE_REQUEST) instanceof User user ? user : null;
+                } catch (IllegalStateException e) {
+                        // Async continuation after the request completed
+                        return null;
+                }
+        }
+
+        private void cacheUserForRequest(User user) {
+                RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+                if (attributes == null) {
+                        return;
+                }
+                try {
+                        attributes.setAttribute(CURRENT_USER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+                } catch (IllegalStateException e) {
+                        // Request already completed, nothing to memoize
+                }
+        }
+
         /**
          * Login or register with Google Sign-In
          * 
@@ -309,9 +362,8 @@ public class AuthService {
                                 user.getUserId(),
                                 user.getUsername());
 
-                // 5. Delete old refresh tokens and save new one
-                refreshTokenRepository.deleteAllByUserId(user.getUserId());
-                saveRefreshToken(user.getUserId(), refreshToken);
+                // 5. Replace old refresh tokens with the new one
+                replaceRefreshTokens(user.getUserId(), refreshToken);
 
                 log.info("Google Sign-In successful for user: {}, role: {}", user.getUsername(), user.getRole());
 
@@ -328,60 +380,33 @@ public class AuthService {
         }
 
         /**
-         * Find existing user by email or create new one.
-         * Handles race condition where concurrent requests might try to create
-         * the same user simultaneously.
-         * 
+         * Find existing user by email or create new one in a single upsert
+         * statement (UserRepository.upsertGoogleUser).
+         * Role of a new user is determined by platform:
+         * - mobile → PET_OWNER
+         * - web → CLINIC_OWNER
+         *
+         * Username = email (guaranteed unique), FullName = name from Google.
+         * Google accounts get an unusable password placeholder (never matches
+         * BCrypt) so sign-in does not pay for a hash.
+         *
          * @param googleUser Google user info
          * @param platform   Platform (mobile/web)
          * @return User (existing or newly created)
          */
         private User findOrCreateGoogleUser(GoogleAuthService.GoogleUserInfo googleUser, String platform) {
-                // First attempt: try to find existing user
-                return userRepository.findByEmail(googleUser.email())
-                                .orElseGet(() -> {
-                                        try {
-                                                // User not found, create new one
-                                                return createUserFromGoogle(googleUser, platform);
-                                        } catch (DataIntegrityViolationException e) {
-                                                // Race condition: another request created the user first
-                                                // Retry finding the user that was just created
-                                                log.warn("Race condition detected for email: {}. Retrying findByEmail.",
-                                                                googleUser.email());
-                                                return userRepository.findByEmail(googleUser.email())
-                                                                .orElseThrow(() -> new RuntimeException(
-                                                                                "Failed to create or find user for email: "
-                                                                                                + googleUser.email(),
-                                                                                e));
-                                        }
-                                });
-        }
-
-        /**
-         * Create a new user from Google Sign-In data
-         * Role is determined by platform:
-         * - mobile → PET_OWNER
-         * - web → CLINIC_OWNER
-         * 
-         * Username = email (guaranteed unique)
-         * FullName = name from Google
-         */
-        private User createUserFromGoogle(GoogleAuthService.GoogleUserInfo googleUser, String platform) {
-                // Determine role based on platform
                 Role role = "web".equalsIgnoreCase(platform) ? Role.CLINIC_OWNER : Role.PET_OWNER;
 
-                log.info("Creating new user from Google: email={}, name={}, platform={}, role={}",
-                                googleUser.email(), googleUser.name(), platform, role);
-
-                User user = new User();
-                user.setUsername(googleUser.email()); // Use email as username
-                user.setEmail(googleUser.email());
-                user.setFullName(googleUser.name()); // Use name as fullName
-                user.setPassword(passwordEncoder.encode(UUID.randomUUID().toString()));
-                user.setRole(role);
-                user.setAvatar(googleUser.picture());
-
-                return userRepository.save(user);
+                return userRepository.upsertGoogleUser(
+                                googleUser.email(),
+                                googleUser.name(),
+                                GOOGLE_PASSWORD_PLACEHOLDER_PREFIX + UUID.randomUUID(),
+                                role.name(),
+                                googleUser.picture())
+                                // Race condition: a concurrent insert committed after our snapshot
+                                .or(() -> userRepository.findByEmail(googleUser.email()))
+                                .orElseThrow(() -> new RuntimeException(
+                                                "Failed to create or find user for email: " + googleUser.email()));
         }
 
         /**
@@ -0,0 +1,301 @@
+package com.petties.petties.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petties.petties.dto.clinic.ClinicResponse;
+import com.petties.petties.util.ExpiringLruCache;
+import com.petties.petties.util.ResourceVersion;
+import com.petties.petties.util.TransactionUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier read-through cache of the clinic detail (GET /clinics/{id}).
+ *
+ * - L1: node-local LRU of the serialized ClinicResponse, short TTL
+ * - L2: Redis, shared by all nodes
+ *
+ * Concurrent misses for the same clinic share one load. Writes call
+ * {@link #invalidateAfterCommit}, which clears both tiers on this node and
+ * drops any load still in flight so it cannot store the old state. Other
+ * nodes only see the L2 delete; their L1 copy lives at most l1-ttl-seconds.
+ *
+ * A load on another node may have read the row before the commit and write
+ * it to Redis after the delete. Invalidation therefore also bumps a
+ * generation counter, and a load only writes L2 if the generation is still
+ * the one it read before going to the database.
+ *
+ * Entries carry the version (ETag) of the snapshot they were built from. A
+ * reader passes the version it just looked up, and an entry with another
+ * version is treated as a miss, so a stale L1 copy on another node or an
+ * L2 entry missed by an invalidation is replaced on the next read.
+ *
+ * Key pattern: "clinic:detail:{clinicId}", generation "clinic:detail:gen:{clinicId}"
+ * Metrics: petties.clinic.detail.cache{result=l1_hit|l2_hit|miss|stale|coalesced}
+ */
+@Slf4j
+@Component
+public class ClinicDetailCache {
+
+    private static final String KEY_PREFIX = "clinic:detail:";
+    private static final String GENERATION_PREFIX = "clinic:detail:gen:";
+
+    /**
+     * KEYS[1] = detail key, KEYS[2] = generation key
+     * ARGV[1] = generation read before loading ("" when none), ARGV[2] = JSON, ARGV[3] = ttl millis
+     * Returns 1 if stored, 0 if the clinic was invalidated since
+     */
+    private static final RedisScript<Long> STORE_SCRIPT = new DefaultRedisScript<>("""
+            if (redis.call('GET', KEYS[2]) or '') ~= ARGV[1] then
+                return 0
+            end
+            redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+            return 1
+            """, Long.class);
+
+    /**
+     * KEYS[1] = detail key, KEYS[2] = generation key
+     * ARGV[1] = ttl millis of the generation (outlives any load in flight)
+     */
+    private static final RedisScript<Long> INVALIDATE_SCRIPT = new DefaultRedisScript<>("""
+            local generation = redis.call('INCR', KEYS[2])
+            redis.call('PEXPIRE', KEYS[2], ARGV[1])
+            redis.call('DEL', KEYS[1])
+            return generation
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final ExpiringLruCache<UUID, String> l1;
+    private final Map<UUID, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    private final Counter l1Hits;
+    private final Counter l2Hits;
+    private final Counter misses;
+    private final Counter stale;
+    private final Counter coalesced;
+
+    @Value("${clinic-detail-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${clinic-detail-cache.l1-ttl-seconds:30}")
+    private long l1TtlSeconds;
+
+    @Value("${clinic-detail-cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    public ClinicDetailCache(StringRedisTemplate stringRedisTemplate, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry, @Value("${clinic-detail-cache.l1-max-entries:5000}") int l1MaxEntries) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.l1 = new ExpiringLruCache<>(l1MaxEntries);
+        this.l1Hits = counter(meterRegistry, "l1_hit");
+        this.l2Hits = counter(meterRegistry, "l2_hit");
+        this.misses = counter(meterRegistry, "miss");
+        this.stale = counter(meterRegistry, "stale");
+        this.coalesced = counter(meterRegistry, "coalesced");
+        Gauge.builder("petties.clinic.detail.cache.l1.size", this, cache -> cache.l1.size())
+                .register(meterRegistry);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("petties.clinic.detail.cache")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Clinic detail with the version of the snapshot it was built from
+     */
+    public record Detail(ClinicResponse clinic, ResourceVersion version) {
+    }
+
+    /**
+     * Cached detail, or the loader's result (stored in both tiers). Every
+     * call gets its own copy. Loader exceptions (e.g. not found) propagate
+     * to all coalesced callers and are not cached.
+     *
+     * @param current version just read from the database; cached entries of
+     *                another version are reloaded. null accepts any entry.
+     */
+    public Detail get(UUID clinicId, ResourceVersion current, Supplier<Detail> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        String json = l1.get(clinicId);
+        if (json != null) {
+            Detail detail = deserialize(json);
+            if (isCurrent(detail, current)) {
+                l1Hits.increment();
+                return detail;
+            }
+            stale.increment();
+        }
+
+        CompletableFuture<String> load = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(clinicId, load);
+        if (existing != null) {
+            coalesced.increment();
+            Detail detail = deserialize(join(existing));
+            // A load started before the change that produced current: read
+            // the database directly rather than serve an older body
+            return isCurrent(detail, current) ? detail : loader.get();
+        }
+        try {
+            Remote remote = getRemote(clinicId);
+            Detail detail = remote.json() != null ? readRemote(remote.json()) : null;
+            if (detail != null && isCurrent(detail, current)) {
+                l2Hits.increment();
+                json = remote.json();
+                store(clinicId, load, json, null);
+            } else {
+                (detail != null ? stale : misses).increment();
+                detail = loader.get();
+                json = serialize(detail);
+                store(clinicId, load, json, remote.generation());
+            }
+            load.complete(json);
+            return detail;
+        } catch (RuntimeException e) {
+            inFlight.remove(clinicId, load);
+            load.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Drop the clinic from both tiers once the current transaction commits
+     */
+    public void invalidateAfterCommit(UUID clinicId) {
+        if (enabled) {
+            TransactionUtils.afterCommit(() -> invalidate(clinicId));
+        }
+    }
+
+    private void invalidate(UUID clinicId) {
+        synchronized (this) {
+            inFlight.remove(clinicId);
+            l1.remove(clinicId);
+        }
+        try {
+            stringRedisTemplate.execute(INVALIDATE_SCRIPT, keys(clinicId), String.valueOf(ttlSeconds * 1000));
+        } catch (Exception e) {
+            log.warn("Clinic detail cache delete from Redis failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Stores the value unless an invalidation removed this load meanwhile
+     *
+     * @param generation L2 generation read before loading, or null to keep
+     *                   the value out of L2 (it came from there)
+     */
+    private void store(UUID clinicId, CompletableFuture<String> load, String json, String generation) {
+        synchronized (this) {
+            if (!inFlight.remove(clinicId, load)) {
+                return;
+            }
+            l1.put(clinicId, json, l1TtlSeconds * 1000);
+        }
+        if (generation != null) {
+            putRemote(clinicId, json, generation);
+        }
+    }
+
+    private static List<String> keys(UUID clinicId) {
+        return List.of(KEY_PREFIX + clinicId, GENERATION_PREFIX + clinicId);
+    }
+
+    /**
+     * @param json       cached detail, null when absent or Redis failed
+     * @param generation invalidation generation, "" when none
+     */
+    private record Remote(String json, String generation) {
+        static final Remote NONE = new Remote(null, null);
+    }
+
+    private static boolean isCurrent(Detail detail, ResourceVersion current) {
+        return current == null || current.equals(detail.version());
+    }
+
+    private static String join(CompletableFuture<String> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Detail and generation in one round trip. A failed read gives no
+     * generation, so the loaded value is not written back.
+     */
+    private Remote getRemote(UUID clinicId) {
+        try {
+            List<String> values = stringRedisTemplate.opsForValue().multiGet(keys(clinicId));
+            if (values == null) {
+                return Remote.NONE;
+            }
+            return new Remote(values.get(0), values.get(1) != null ? values.get(1) : "");
+        } catch (Exception e) {
+            log.warn("Clinic detail cache read from Redis failed: {}", e.getMessage());
+            return Remote.NONE;
+        }
+    }
+
+    /**
+     * @return null when the stored JSON no longer matches Detail (e.g.
+     *         written by an older release), so it is reloaded
+     */
+    private Detail readRemote(String json) {
+        try {
+            Detail detail = objectMapper.readValue(json, Detail.class);
+            return detail.clinic() != null && detail.version() != null ? detail : null;
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring unreadable clinic detail in Redis: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void putRemote(UUID clinicId, String json, String generation) {
+        try {
+            stringRedisTemplate.execute(STORE_SCRIPT, keys(clinicId), generation, json,
+                    String.valueOf(ttlSeconds * 1000));
+        } catch (Exception e) {
+            log.warn("Clinic detail cache write to Redis failed: {}", e.getMessage());
+        }
+    }
+
+    private String serialize(Detail detail) {
+        try {
+            return objectMapper.writeValueAsString(detail);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize clinic detail", e);
+        }
+    }
+
+    private Detail deserialize(String json) {
+        try {
+            return objectMapper.readValue(json, Detail.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not deserialize clinic detail", e);
+        }
+    }
+}
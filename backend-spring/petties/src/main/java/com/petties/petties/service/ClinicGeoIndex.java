@@ -0,0 +1,313 @@
+package com.petties.petties.service;
+
+import com.petties.petties.dto.clinic.ClinicGeoPoint;
+import com.petties.petties.dto.clinic.NearbyCursor;
+import com.petties.petties.repository.ClinicRepository;
+import com.petties.petties.util.GeoBoundingBox;
+import com.petties.petties.util.Haversine;
+import com.petties.petties.util.JournaledIndexMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Node-local uniform grid of APPROVED clinic coordinates.
+ *
+ * Answers radius and k-nearest queries from memory so the nearby search does
+ * not scan Postgres. Each grid cell holds its points in primitive arrays and
+ * is replaced (copy-on-write) on change, so reads never lock.
+ *
+ * Maintenance:
+ * - full load on ApplicationReadyEvent
+ * - incremental upsert/remove after the commit of approve/reject/update/delete
+ * - periodic full reconcile, which also picks up changes made on other nodes
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClinicGeoIndex {
+
+    private final ClinicRepository clinicRepository;
+
+    @Value("${clinic-geo-index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${clinic-geo-index.cell-degrees:0.05}")
+    private double cellDegrees; // ~5.5 km per cell
+
+    private final JournaledIndexMap<UUID, Point> points = new JournaledIndexMap<>(new GridMaintainer());
+    private volatile Grid grid; // null until first load
+
+    public record Hit(UUID clinicId, double distanceKm) {
+    }
+
+    private record Point(double lat, double lng) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${clinic-geo-index.reconcile-ms:300000}",
+            initialDelayString = "${clinic-geo-index.reconcile-ms:300000}")
+    public void reconcile() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    public boolean isReady() {
+        return grid != null;
+    }
+
+    public int size() {
+        Grid current = grid;
+        return current != null ? current.cellOf.size() : 0;
+    }
+
+    /**
+     * Clinics within radiusKm of (lat, lng), nearest first
+     */
+    public List<Hit> findWithinRadius(double lat, double lng, double radiusKm) {
+        Grid current = grid;
+        if (current == null) {
+            return List.of();
+        }
+        GeoBoundingBox box = GeoBoundingBox.around(lat, lng, radiusKm);
+        double latRad = Math.toRadians(lat);
+        double lngRad = Math.toRadians(lng);
+        double cosLat = Math.cos(latRad);
+        List<Hit> hits = new ArrayList<>();
+
+        // Clamped to the populated rows/columns: a box over a pole or the
+        // antimeridian spans every longitude but holds few clinics
+        int minRow = Math.max(cellIndex(box.minLat()), current.minRow);
+        int maxRow = Math.min(cellIndex(box.maxLat()), current.maxRow);
+        int minCol = Math.max(cellIndex(box.minLng()), current.minCol);
+        int maxCol = Math.min(cellIndex(box.maxLng()), current.maxCol);
+        if (minRow <= maxRow && minCol <= maxCol) {
+            long lookups = (long) (maxRow - minRow + 1) * (maxCol - minCol + 1);
+            if (lookups > current.cells.size()) {
+                // Fewer populated cells than cells in the box: scan those instead
+                current.cells.forEach((key, cell) -> {
+                    int row = (int) (key >> 32);
+                    int col = (int) (long) key;
+                    if (row >= minRow && row <= maxRow && col >= minCol && col <= maxCol) {
+                        cell.collectWithin(latRad, lngRad, cosLat, radiusKm, hits);
+                    }
+                });
+            } else {
+                for (int row = minRow; row <= maxRow; row++) {
+                    for (int col = minCol; col <= maxCol; col++) {
+                        Cell cell = current.cells.get(cellKey(row, col));
+                        if (cell != null) {
+                            cell.collectWithin(latRad, lngRad, cosLat, radiusKm, hits);
+                        }
+                    }
+                }
+            }
+        }
+        hits.sort(Comparator.comparingDouble(Hit::distanceKm)
+                .thenComparing(Hit::clinicId, NearbyCursor::compareIds));
+        return hits;
+    }
+
+    /**
+     * k nearest clinics within maxRadiusKm of (lat, lng), nearest first
+     */
+    public List<Hit> findNearest(double lat, double lng, int k, double maxRadiusKm) {
+        double radius = Math.min(cellDegrees * 111, maxRadiusKm);
+        while (true) {
+            List<Hit> hits = findWithinRadius(lat, lng, radius);
+            if (hits.size() >= k || radius >= maxRadiusKm) {
+                return hits.size() > k ? hits.subList(0, k) : hits;
+            }
+            radius = Math.min(radius * 2, maxRadiusKm);
+        }
+    }
+
+    /**
+     * Add or move a clinic once the current transaction commits
+     */
+    public void upsertAfterCommit(UUID clinicId, BigDecimal latitude, BigDecimal longitude) {
+        if (latitude == null || longitude == null) {
+            removeAfterCommit(clinicId);
+            return;
+        }
+        if (enabled) {
+            points.putAfterCommit(clinicId, new Point(latitude.doubleValue(), longitude.doubleValue()));
+        }
+    }
+
+    /**
+     * Drop a clinic once the current transaction commits
+     */
+    public void removeAfterCommit(UUID clinicId) {
+        if (enabled) {
+            points.removeAfterCommit(clinicId);
+        }
+    }
+
+    private void reload() {
+        try {
+            long start = System.nanoTime();
+            points.reload(() -> {
+                Map<UUID, Point> fresh = new HashMap<>();
+                for (ClinicGeoPoint point : clinicRepository.findApprovedGeoPoints()) {
+                    fresh.put(point.getClinicId(), new Point(point.getLatitude().doubleValue(),
+                            point.getLongitude().doubleValue()));
+                }
+                return fresh;
+            });
+            log.info("Clinic geo index loaded {} clinics in {} ms", size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.warn("Could not load clinic geo index, nearby search stays on the database", e);
+        }
+    }
+
+    /**
+     * Keeps the grid in step with the points, under the points' lock
+     */
+    private final class GridMaintainer implements JournaledIndexMap.Listener<UUID, Point> {
+
+        @Override
+        public void changed(UUID clinicId, Point oldPoint, Point newPoint) {
+            Grid current = grid;
+            if (current == null) {
+                return; // the first load builds the grid from all points
+            }
+            if (newPoint != null) {
+                current.upsert(clinicId, newPoint.lat(), newPoint.lng());
+            } else {
+                current.remove(clinicId);
+            }
+        }
+
+        @Override
+        public void reloaded(Map<UUID, Point> entries) {
+            Grid fresh = new Grid();
+            entries.forEach((clinicId, point) -> fresh.upsert(clinicId, point.lat(), point.lng()));
+            grid = fresh;
+        }
+    }
+
+    private int cellIndex(double degrees) {
+        return (int) Math.floor(degrees / cellDegrees);
+    }
+
+    private static long cellKey(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    /**
+     * Mutable set of cells; writes are serialized by the enclosing index
+     */
+    private final class Grid {
+        final Map<Long, Cell> cells = new ConcurrentHashMap<>();
+        final Map<UUID, Long> cellOf = new ConcurrentHashMap<>();
+        // Rows/columns ever populated (only grow; a reload starts afresh)
+        volatile int minRow = Integer.MAX_VALUE;
+        volatile int maxRow = Integer.MIN_VALUE;
+        volatile int minCol = Integer.MAX_VALUE;
+        volatile int maxCol = Integer.MIN_VALUE;
+
+        void upsert(UUID clinicId, double lat, double lng) {
+            remove(clinicId);
+            int row = cellIndex(lat);
+            int col = cellIndex(lng);
+            // Widen the bounds before the point becomes visible
+            minRow = Math.min(minRow, row);
+            maxRow = Math.max(maxRow, row);
+            minCol = Math.min(minCol, col);
+            maxCol = Math.max(maxCol, col);
+            long key = cellKey(row, col);
+            cells.compute(key, (k, cell) -> (cell != null ? cell : Cell.EMPTY).with(clinicId, lat, lng));
+            cellOf.put(clinicId, key);
+        }
+
+        void remove(UUID clinicId) {
+            Long key = cellOf.remove(clinicId);
+            if (key != null) {
+                cells.computeIfPresent(key, (k, cell) -> cell.without(clinicId));
+            }
+        }
+    }
+
+    /**
+     * Immutable points of one grid cell, stored as parallel primitive arrays
+     * in radians with cos(latitude) precomputed for {@link Haversine#within}
+     */
+    private record Cell(UUID[] ids, double[] latsRad, double[] lngsRad, double[] cosLats) {
+
+        static final Cell EMPTY = new Cell(new UUID[0], new double[0], new double[0], new double[0]);
+
+        Cell with(UUID id, double lat, double lng) {
+            int n = ids.length;
+            UUID[] newIds = Arrays.copyOf(ids, n + 1);
+            double[] newLats = Arrays.copyOf(latsRad, n + 1);
+            double[] newLngs = Arrays.copyOf(lngsRad, n + 1);
+            double[] newCosLats = Arrays.copyOf(cosLats, n + 1);
+            newIds[n] = id;
+            newLats[n] = Math.toRadians(lat);
+            newLngs[n] = Math.toRadians(lng);
+            newCosLats[n] = Math.cos(newLats[n]);
+            return new Cell(newIds, newLats, newLngs, newCosLats);
+        }
+
+        /**
+         * @return the cell without the clinic, or null when it becomes empty
+         *         (removes the map entry)
+         */
+        Cell without(UUID id) {
+            int index = Arrays.asList(ids).indexOf(id);
+            if (index < 0) {
+                return this;
+            }
+            int n = ids.length - 1;
+            if (n == 0) {
+                return null;
+            }
+            UUID[] newIds = new UUID[n];
+            double[] newLats = new double[n];
+            double[] newLngs = new double[n];
+            double[] newCosLats = new double[n];
+            System.arraycopy(ids, 0, newIds, 0, index);
+            System.arraycopy(ids, index + 1, newIds, index, n - index);
+            System.arraycopy(latsRad, 0, newLats, 0, index);
+            System.arraycopy(latsRad, index + 1, newLats, index, n - index);
+            System.arraycopy(lngsRad, 0, newLngs, 0, index);
+            System.arraycopy(lngsRad, index + 1, newLngs, index, n - index);
+            System.arraycopy(cosLats, 0, newCosLats, 0, index);
+            System.arraycopy(cosLats, index + 1, newCosLats, index, n - index);
+            return new Cell(newIds, newLats, newLngs, newCosLats);
+        }
+
+        void collectWithin(double latRad, double lngRad, double cosLat, double radiusKm, List<Hit> out) {
+            int[] indexes = new int[ids.length];
+            double[] distances = new double[ids.length];
+            int count = Haversine.within(latRad, lngRad, cosLat, radiusKm,
+                    latsRad, lngsRad, cosLats, ids.length, indexes, distances);
+            for (int i = 0; i < count; i++) {
+                out.add(new Hit(ids[indexes[i]], distances[i]));
+            }
+        }
+    }
+}
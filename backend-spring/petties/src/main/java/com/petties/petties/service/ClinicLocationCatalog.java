@@ -0,0 +1,116 @@
+package com.petties.petties.service;
+
+import com.petties.petties.dto.clinic.ClinicLocationResponse;
+import com.petties.petties.repository.ClinicRepository;
+import com.petties.petties.util.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cached list of locations (province, district, ward) that have approved
+ * clinics, for the location filter dropdown.
+ *
+ * The list is cached per catalog version. The version lives in Redis so every
+ * node sees a bump; it is incremented after the commit of any change that can
+ * alter the list (approve, reject, delete, address change). A request costs
+ * one Redis GET; the database is only queried when the version moved, and
+ * concurrent misses wait for a single query.
+ *
+ * If Redis is unreachable a node-local version is used instead, so the node
+ * still sees its own changes.
+ *
+ * Key pattern: "clinic:locations:version"
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClinicLocationCatalog {
+
+    private static final String VERSION_KEY = "clinic:locations:version";
+
+    private final ClinicRepository clinicRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final AtomicLong localVersion = new AtomicLong();
+    private final Object loadLock = new Object();
+    private volatile Catalog catalog; // null until first load
+
+    /**
+     * @param etag strong entity tag derived from the content, quoted
+     */
+    public record Catalog(String version, List<ClinicLocationResponse> locations, String etag) {
+    }
+
+    public Catalog get() {
+        String version = currentVersion();
+        Catalog current = catalog;
+        if (current != null && current.version().equals(version)) {
+            return current;
+        }
+        synchronized (loadLock) {
+            current = catalog;
+            if (current != null && current.version().equals(version)) {
+                return current; // loaded by another thread while we waited
+            }
+            List<ClinicLocationResponse> locations = List.copyOf(clinicRepository.findActiveLocations());
+            current = new Catalog(version, locations, etagOf(locations));
+            catalog = current;
+            log.debug("Location catalog loaded: version={}, {} locations", version, locations.size());
+            return current;
+        }
+    }
+
+    /**
+     * Mark the catalog stale once the current transaction commits
+     */
+    public void invalidateAfterCommit() {
+        TransactionUtils.afterCommit(() -> {
+            localVersion.incrementAndGet();
+            try {
+                stringRedisTemplate.opsForValue().increment(VERSION_KEY);
+            } catch (Exception e) {
+                log.warn("Could not bump location catalog version in Redis: {}", e.getMessage());
+            }
+        });
+    }
+
+    private String currentVersion() {
+        try {
+            String version = stringRedisTemplate.opsForValue().get(VERSION_KEY);
+            return "r" + (version != null ? version : "0");
+        } catch (Exception e) {
+            log.debug("Redis unavailable for location catalog version: {}", e.getMessage());
+            return "l" + localVersion.get();
+        }
+    }
+
+    private static String etagOf(List<ClinicLocationResponse> locations) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (ClinicLocationResponse location : locations) {
+                update(digest, location.getProvince());
+                update(digest, location.getDistrict());
+                update(digest, location.getWard());
+            }
+            return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0);
+    }
+}
@@ -0,0 +1,119 @@
+package com.petties.petties.service;
+
+import com.petties.petties.dto.clinic.ClinicOpenHoursRow;
+import com.petties.petties.model.Clinic;
+import com.petties.petties.model.OpenHoursBitmap;
+import com.petties.petties.model.OperatingHours;
+import com.petties.petties.repository.ClinicRepository;
+import com.petties.petties.util.JournaledIndexMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Node-local {@link OpenHoursBitmap} of every approved clinic, so "open at T"
+ * is one bit test per candidate instead of loading and parsing the
+ * operating_hours JSON.
+ *
+ * Maintenance:
+ * - full load on ApplicationReadyEvent; rows whose open_hours_bitmap is
+ * still null (saved before the column existed) are compiled and written back
+ * - upsert/remove after the commit of approve/reject/update/delete
+ * - periodic reconcile picks up changes made on other nodes
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClinicOpenHoursIndex {
+
+    private final ClinicRepository clinicRepository;
+
+    @Value("${clinic-open-hours.time-zone:Asia/Ho_Chi_Minh}")
+    private String timeZone;
+
+    private final JournaledIndexMap<UUID, OpenHoursBitmap> bitmaps = new JournaledIndexMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${clinic-open-hours.reconcile-ms:300000}",
+            initialDelayString = "${clinic-open-hours.reconcile-ms:300000}")
+    public void reconcile() {
+        reload();
+    }
+
+    public boolean isReady() {
+        return bitmaps.isLoaded();
+    }
+
+    /**
+     * Current local time of the clinics (operating hours are wall-clock times)
+     */
+    public LocalDateTime now() {
+        return LocalDateTime.now(ZoneId.of(timeZone));
+    }
+
+    public boolean isOpen(UUID clinicId, int slot) {
+        OpenHoursBitmap bitmap = bitmaps.get(clinicId);
+        return bitmap != null && bitmap.isOpen(slot);
+    }
+
+    /**
+     * Add or refresh an approved clinic once the current transaction commits
+     */
+    public void upsertAfterCommit(UUID clinicId, Map<String, OperatingHours> operatingHours) {
+        OpenHoursBitmap bitmap = OpenHoursBitmap.compile(operatingHours);
+        bitmaps.putAfterCommit(clinicId, bitmap);
+    }
+
+    /**
+     * Drop a clinic once the current transaction commits
+     */
+    public void removeAfterCommit(UUID clinicId) {
+        bitmaps.removeAfterCommit(clinicId);
+    }
+
+    private void reload() {
+        try {
+            bitmaps.reload(this::readBitmaps);
+            log.info("Clinic open-hours index loaded {} clinics", bitmaps.size());
+        } catch (Exception e) {
+            log.warn("Could not load clinic open-hours index, open-now search stays on the database", e);
+        }
+    }
+
+    private Map<UUID, OpenHoursBitmap> readBitmaps() {
+        Map<UUID, OpenHoursBitmap> fresh = new HashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        for (ClinicOpenHoursRow row : clinicRepository.findApprovedOpenHours()) {
+            if (row.getOpenHoursBitmap() != null) {
+                fresh.put(row.getClinicId(), OpenHoursBitmap.fromBytes(row.getOpenHoursBitmap()));
+            } else {
+                missing.add(row.getClinicId());
+            }
+        }
+        for (Clinic clinic : missing.isEmpty() ? List.<Clinic>of() : clinicRepository.findAllById(missing)) {
+            OpenHoursBitmap bitmap = OpenHoursBitmap.compile(clinic.getOperatingHours());
+            clinicRepository.updateOpenHoursBitmap(clinic.getClinicId(), bitmap.toBytes());
+            fresh.put(clinic.getClinicId(), bitmap);
+        }
+        if (!missing.isEmpty()) {
+            log.info("Backfilled open_hours_bitmap of {} clinics", missing.size());
+        }
+        return fresh;
+    }
+}
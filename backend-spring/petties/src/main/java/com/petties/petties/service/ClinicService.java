@@ -1,14 +1,19 @@
 package com.petties.petties.service;
 
+import com.petties.petties.dto.clinic.ClinicDetailVersion;
+import com.petties.petties.dto.clinic.ClinicListCursor;
 import com.petties.petties.dto.clinic.ClinicLocationResponse;
 import com.petties.petties.dto.clinic.ClinicRequest;
 import com.petties.petties.dto.clinic.ClinicResponse;
+import com.petties.petties.dto.clinic.ClinicSuggestionResponse;
 import com.petties.petties.dto.clinic.DistanceResponse;
 import com.petties.petties.dto.clinic.GeocodeResponse;
+import com.petties.petties.dto.clinic.NearbyCursor;
 import com.petties.petties.exception.BadRequestException;
 import com.petties.petties.exception.ForbiddenException;
 import com.petties.petties.exception.ResourceNotFoundException;
 import com.petties.petties.model.Clinic;
+import com.petties.petties.model.OpenHoursBitmap;
 import com.petties.petties.model.User;
 import com.petties.petties.model.enums.ClinicStatus;
 import com.petties.petties.model.enums.Role;
@@ -16,20 +21,31 @@ import com.petties.petties.model.ClinicImage;
 import com.petties.petties.repository.ClinicImageRepository;
 import com.petties.petties.repository.ClinicRepository;
 import com.petties.petties.repository.UserRepository;
+import com.petties.petties.util.ResourceVersion;
 import com.petties.petties.model.enums.NotificationType;
 import com.petties.petties.model.Notification;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -37,6 +53,8 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ClinicService {
 
+        private static final int MAX_SUGGESTIONS = 20;
+
         private final ClinicRepository clinicRepository;
         private final ClinicImageRepository clinicImageRepository;
         private final UserRepository userRepository;
@@ -44,24 +62,107 @@ public class ClinicService {
         private final CloudinaryService cloudinaryService;
         private final EmailService emailService;
         private final NotificationService notificationService;
+        private final ClinicGeoIndex clinicGeoIndex;
+        private final ClinicSuggestIndex clinicSuggestIndex;
+        private final ClinicLocationCatalog clinicLocationCatalog;
+        private final ClinicOpenHoursIndex clinicOpenHoursIndex;
+        private final ClinicDetailCache clinicDetailCache;
+        private final ClinicStatusCounts clinicStatusCounts;
 
-        @Transactional(readOnly = true)
         public List<ClinicLocationResponse> getActiveLocations() {
-                return clinicRepository.findActiveLocations();
+                return clinicLocationCatalog.get().locations();
+        }
+
+        public ClinicLocationCatalog.Catalog getLocationCatalog() {
+                return clinicLocationCatalog.get();
         }
 
         @Transactional(readOnly = true)
         public Page<ClinicResponse> getAllClinics(ClinicStatus status, String name, Pageable pageable) {
                 Page<Clinic> clinics = clinicRepository.findWithFilters(status, name, pageable);
-                return clinics.map(this::mapToResponse);
+                return mapPage(clinics);
         }
 
+        /**
+         * Keyset page of the clinic list after the cursor: no COUNT query, and
+         * the cost does not grow with the page depth
+         */
         @Transactional(readOnly = true)
+        public Slice<ClinicResponse> getClinicsAfter(ClinicStatus status, String name, ClinicListCursor cursor,
+                        int size) {
+                // One extra row tells whether there is a next page
+                List<Clinic> clinics = clinicRepository.findWithFiltersAfter(status, name, cursor, size + 1);
+                boolean hasNext = clinics.size() > size;
+                return new SliceImpl<>(mapToResponses(hasNext ? clinics.subList(0, size) : clinics),
+                                Pageable.ofSize(size), hasNext);
+        }
+
+        /**
+         * First page of the clinics in a status (null for all) in createdAt
+         * order, read by keyset like the pages after it. The total comes
+         * from {@link ClinicStatusCounts} instead of a COUNT query.
+         */
+        public Page<ClinicResponse> getFirstClinicsPage(ClinicStatus status, Sort.Direction direction, int size) {
+                Slice<ClinicResponse> first = getClinicsAfter(status, null, ClinicListCursor.start(direction), size);
+                // The cached total may lag by a minute: keep it consistent with what this page saw
+                long total = first.hasNext() ? Math.max(countClinics(status), size + 1L)
+                                : first.getNumberOfElements();
+                return new PageImpl<>(first.getContent(),
+                                PageRequest.of(0, size, Sort.by(direction, "createdAt", "clinicId")), total);
+        }
+
+        /**
+         * Cached number of clinics in a status (null for all), refreshed
+         * within a minute; exact counts stay on the offset pages
+         */
+        public long countClinics(ClinicStatus status) {
+                return clinicStatusCounts.count(status);
+        }
+
         public ClinicResponse getClinicById(UUID clinicId) {
-                Clinic clinic = clinicRepository.findByIdAndNotDeleted(clinicId)
+                return getClinicDetail(clinicId, null).clinic();
+        }
+
+        /**
+         * Clinic detail through {@link ClinicDetailCache}, with the version
+         * of the same snapshot for the ETag. A cached entry whose version is
+         * not {@code current} (from {@link #getClinicVersion}) is reloaded.
+         * Not transactional, so a cache hit never takes a database
+         * connection; findDetailById fetches everything mapToResponse reads.
+         */
+        public ClinicDetailCache.Detail getClinicDetail(UUID clinicId, ResourceVersion current) {
+                return clinicDetailCache.get(clinicId, current, () -> {
+                        Clinic clinic = clinicRepository.findDetailById(clinicId)
+                                        .orElseThrow(() -> new ResourceNotFoundException(
+                                                        "Clinic not found with id: " + clinicId));
+                        return new ClinicDetailCache.Detail(mapToResponse(clinic),
+                                        clinicVersion(clinicId, clinic.getUpdatedAt(), clinic.getOwner().getUpdatedAt()));
+                });
+        }
+
+        /**
+         * Version (ETag) of the clinic detail from two timestamps, without
+         * loading the clinic. Image changes bump the clinic's updatedAt.
+         */
+        public ResourceVersion getClinicVersion(UUID clinicId) {
+                ClinicDetailVersion version = clinicRepository.findDetailVersion(clinicId)
                                 .orElseThrow(() -> new ResourceNotFoundException(
                                                 "Clinic not found with id: " + clinicId));
-                return mapToResponse(clinic);
+                return clinicVersion(clinicId, version.getUpdatedAt(), version.getOwnerUpdatedAt());
+        }
+
+        private static ResourceVersion clinicVersion(UUID clinicId, LocalDateTime updatedAt,
+                        LocalDateTime ownerUpdatedAt) {
+                return ResourceVersion.of("clinic", clinicId, updatedAt, ownerUpdatedAt);
+        }
+
+        /**
+         * The clinic detail shows the owner's name and email: drop the owner's
+         * clinics from the detail cache once the profile change commits
+         */
+        public void invalidateOwnerClinics(UUID ownerId) {
+                clinicRepository.findClinicIdsByOwnerUserId(ownerId)
+                                .forEach(clinicDetailCache::invalidateAfterCommit);
         }
 
         @Transactional
@@ -110,6 +211,7 @@ public class ClinicService {
                 }
 
                 clinic = clinicRepository.save(clinic);
+                clinicStatusCounts.invalidateAfterCommit();
                 log.info("Clinic created: {} by owner: {}", clinic.getClinicId(), ownerId);
                 return mapToResponse(clinic);
         }
@@ -123,6 +225,9 @@ public class ClinicService {
                 if (!clinic.getOwner().getUserId().equals(ownerId)) {
                         throw new ForbiddenException("You can only update your own clinic");
                 }
+                boolean locationChanged = !Objects.equals(clinic.getProvince(), request.getProvince())
+                                || !Objects.equals(clinic.getDistrict(), request.getDistrict())
+                                || !Objects.equals(clinic.getWard(), request.getWard());
 
                 // Update fields
                 clinic.setName(request.getName());
@@ -158,6 +263,16 @@ public class ClinicService {
                 }
 
                 clinic = clinicRepository.save(clinic);
+                clinicDetailCache.invalidateAfterCommit(clinicId);
+                if (clinic.getStatus() == ClinicStatus.APPROVED) {
+                        clinicGeoIndex.upsertAfterCommit(clinicId, clinic.getLatitude(), clinic.getLongitude());
+                        clinicSuggestIndex.upsertAfterCommit(clinicId, clinic.getName(), clinic.getProvince(),
+                                        clinic.getDistrict(), clinic.getWard());
+                        clinicOpenHoursIndex.upsertAfterCommit(clinicId, clinic.getOperatingHours());
+                        if (locationChanged) {
+                                clinicLocationCatalog.invalidateAfterCommit();
+                        }
+                }
                 log.info("Clinic updated: {} by owner: {}", clinicId, ownerId);
                 return mapToResponse(clinic);
         }
@@ -173,44 +288,150 @@ public class ClinicService {
                 }
 
                 clinicRepository.delete(clinic);
+                clinicDetailCache.invalidateAfterCommit(clinicId);
+                clinicGeoIndex.removeAfterCommit(clinicId);
+                clinicSuggestIndex.removeAfterCommit(clinicId);
+                clinicOpenHoursIndex.removeAfterCommit(clinicId);
+                clinicLocationCatalog.invalidateAfterCommit();
+                clinicStatusCounts.invalidateAfterCommit();
                 log.info("Clinic deleted (soft): {} by owner: {}", clinicId, ownerId);
         }
 
         @Transactional(readOnly = true)
         public Page<ClinicResponse> searchClinics(String name, Pageable pageable) {
                 Page<Clinic> clinics = clinicRepository.searchByName(name, pageable);
-                return clinics.map(this::mapToResponse);
+                return mapPage(clinics);
         }
 
+        /**
+         * A nearby page and the cursor of the page after it
+         *
+         * @param next position of the last search hit of the page, or null
+         *             when there are no more hits. Taken from the hits, not the
+         *             returned clinics, which may leave out stale index entries
+         */
+        public record NearbyPage(Page<ClinicResponse> clinics, NearbyCursor next) {
+        }
+
+        /**
+         * Nearby clinics ordered by (distance, clinicId).
+         *
+         * @param cursor last clinic of the previous page (keyset paging, page
+         *               number is then ignored), or null for offset paging
+         * @param openAt only clinics open at this local time (half-hour slot of
+         *               the compiled opening hours), or null for any
+         */
         @Transactional(readOnly = true)
-        public Page<ClinicResponse> findNearbyClinics(BigDecimal latitude, BigDecimal longitude,
-                        double radius, Pageable pageable) {
+        public NearbyPage findNearbyPage(BigDecimal latitude, BigDecimal longitude,
+                        double radius, Pageable pageable, NearbyCursor cursor, LocalDateTime openAt) {
                 if (latitude == null || longitude == null) {
                         throw new BadRequestException("Latitude and longitude are required");
                 }
 
-                List<Clinic> clinics = clinicRepository.findNearbyClinics(latitude, longitude, radius);
-
-                // Calculate distances and map to response
-                List<ClinicResponse> responses = clinics.stream()
-                                .map(clinic -> {
-                                        ClinicResponse response = mapToResponse(clinic);
-                                        double distance = locationService.calculateDistance(
-                                                        latitude, longitude,
-                                                        clinic.getLatitude(), clinic.getLongitude());
-                                        response.setDistance(distance);
-                                        return response;
-                                })
-                                .collect(Collectors.toList());
+                NearbyCursor after = cursor != null ? cursor : NearbyCursor.START;
+                long offset = cursor != null ? 0 : pageable.getOffset();
+                int limit = pageable.getPageSize();
+                int openSlot = openAt != null ? OpenHoursBitmap.slotOf(openAt) : -1;
+
+                List<ClinicGeoIndex.Hit> pageHits;
+                long total;
+                if (clinicGeoIndex.isReady() && (openSlot < 0 || clinicOpenHoursIndex.isReady())) {
+                        // In-memory grid: ids + distances only, nothing loaded from Postgres yet
+                        List<ClinicGeoIndex.Hit> hits = clinicGeoIndex.findWithinRadius(
+                                        latitude.doubleValue(), longitude.doubleValue(), radius);
+                        if (openSlot >= 0) {
+                                hits = hits.stream()
+                                                .filter(hit -> clinicOpenHoursIndex.isOpen(hit.clinicId(), openSlot))
+                                                .toList();
+                        }
+                        // One hit past the page tells whether there is a next page
+                        pageHits = hits.stream()
+                                        .filter(hit -> after.isBefore(hit.distanceKm(), hit.clinicId()))
+                                        .skip(offset)
+                                        .limit(limit + 1L)
+                                        .toList();
+                        total = hits.size();
+                } else {
+                        // Paging pushed into the query, only the page's ids + distances come back
+                        pageHits = clinicRepository.findNearbyClinics(latitude, longitude, radius, openSlot,
+                                        after, limit + 1, offset)
+                                        .stream()
+                                        .map(row -> new ClinicGeoIndex.Hit(row.getClinicId(), row.getDistance()))
+                                        .toList();
+                        total = clinicRepository.countNearbyClinics(latitude, longitude, radius, openSlot);
+                }
 
-                // Apply pagination manually (since native query doesn't support Pageable)
-                int start = (int) pageable.getOffset();
-                int end = Math.min(start + pageable.getPageSize(), responses.size());
-                List<ClinicResponse> pagedResponses = start < responses.size()
-                                ? responses.subList(start, end)
-                                : List.of();
+                boolean hasNext = pageHits.size() > limit;
+                if (hasNext) {
+                        pageHits = pageHits.subList(0, limit);
+                }
+                ClinicGeoIndex.Hit last = pageHits.isEmpty() ? null : pageHits.get(pageHits.size() - 1);
+                return new NearbyPage(new PageImpl<>(loadNearbyPage(pageHits), pageable, total),
+                                hasNext ? new NearbyCursor(last.distanceKm(), last.clinicId()) : null);
+        }
 
-                return new PageImpl<>(pagedResponses, pageable, responses.size());
+        /**
+         * Load only the clinics of the requested page, keeping distance order.
+         */
+        private List<ClinicResponse> loadNearbyPage(List<ClinicGeoIndex.Hit> pageHits) {
+                if (pageHits.isEmpty()) {
+                        return List.of();
+                }
+                Map<UUID, Clinic> clinicsById = clinicRepository.findByClinicIdIn(
+                                pageHits.stream().map(ClinicGeoIndex.Hit::clinicId).toList())
+                                .stream()
+                                .collect(Collectors.toMap(Clinic::getClinicId, Function.identity()));
+
+                List<Clinic> clinics = new ArrayList<>(pageHits.size());
+                List<Double> distances = new ArrayList<>(pageHits.size());
+                for (ClinicGeoIndex.Hit hit : pageHits) {
+                        Clinic clinic = clinicsById.get(hit.clinicId());
+                        // Index may lag behind a change made on another node until the next reconcile
+                        if (clinic == null || clinic.getStatus() != ClinicStatus.APPROVED) {
+                                continue;
+                        }
+                        clinics.add(clinic);
+                        distances.add(hit.distanceKm());
+                }
+
+                List<ClinicResponse> responses = mapToResponses(clinics);
+                for (int i = 0; i < responses.size(); i++) {
+                        responses.get(i).setDistance(distances.get(i));
+                }
+                return responses;
+        }
+
+        /**
+         * Current wall-clock time of the clinics, for "open now"
+         */
+        public LocalDateTime clinicLocalTime() {
+                return clinicOpenHoursIndex.now();
+        }
+
+        /**
+         * Fill road distance and ETA for a page of nearby results with one
+         * batched distance-matrix call. Not transactional on purpose: no
+         * database connection is held during the external call.
+         */
+        public void attachRoutes(BigDecimal latitude, BigDecimal longitude, List<ClinicResponse> clinics) {
+                List<ClinicResponse> routable = clinics.stream()
+                                .filter(c -> c.getLatitude() != null && c.getLongitude() != null)
+                                .toList();
+                if (routable.isEmpty()) {
+                        return;
+                }
+                List<DistanceResponse> routes = locationService.calculateDistanceMatrix(latitude, longitude,
+                                routable.stream()
+                                                .map(c -> new LocationService.Destination(c.getLatitude(),
+                                                                c.getLongitude()))
+                                                .toList());
+                for (int i = 0; i < routable.size(); i++) {
+                        DistanceResponse route = routes.get(i);
+                        if (!route.isEstimated()) {
+                                routable.get(i).setRoadDistance(route.getDistance());
+                                routable.get(i).setDuration(route.getDuration());
+                        }
+                }
         }
 
         @Transactional
@@ -232,10 +453,29 @@ public class ClinicService {
                                 clinic.getLatitude(), clinic.getLongitude());
         }
 
+        /**
+         * Autocomplete for the clinic search box, answered from memory
+         */
+        public List<ClinicSuggestionResponse> suggestClinics(String query, int limit) {
+                return clinicSuggestIndex.suggest(query, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
+        }
+
+        /**
+         * Accent-insensitive, relevance-ranked search over approved clinics
+         * (name, district, province, address)
+         */
+        @Transactional(readOnly = true)
+        public Page<ClinicResponse> fullTextSearch(String query, Pageable pageable) {
+                if (query == null || query.isBlank()) {
+                        throw new BadRequestException("Search query is required");
+                }
+                return mapPage(clinicRepository.fullTextSearch(query.trim(), pageable));
+        }
+
         @Transactional(readOnly = true)
         public Page<ClinicResponse> getPendingClinics(Pageable pageable) {
                 Page<Clinic> clinics = clinicRepository.findByStatus(ClinicStatus.PENDING, pageable);
-                return clinics.map(this::mapToResponse);
+                return mapPage(clinics);
         }
 
         @Transactional
@@ -252,6 +492,13 @@ public class ClinicService {
                 clinic.setRejectionReason(null);
 
                 clinic = clinicRepository.save(clinic);
+                clinicDetailCache.invalidateAfterCommit(clinicId);
+                clinicGeoIndex.upsertAfterCommit(clinicId, clinic.getLatitude(), clinic.getLongitude());
+                clinicSuggestIndex.upsertAfterCommit(clinicId, clinic.getName(), clinic.getProvince(),
+                                clinic.getDistrict(), clinic.getWard());
+                clinicOpenHoursIndex.upsertAfterCommit(clinicId, clinic.getOperatingHours());
+                clinicLocationCatalog.invalidateAfterCommit();
+                clinicStatusCounts.invalidateAfterCommit();
                 log.info("Clinic approved: {} with reason: {}", clinicId, reason);
 
                 // Create notification for clinic owner (only if status actually changed)
@@ -288,6 +535,12 @@ public class ClinicService {
                 clinic.setRejectionReason(reason);
 
                 clinic = clinicRepository.save(clinic);
+                clinicDetailCache.invalidateAfterCommit(clinicId);
+                clinicGeoIndex.removeAfterCommit(clinicId);
+                clinicSuggestIndex.removeAfterCommit(clinicId);
+                clinicOpenHoursIndex.removeAfterCommit(clinicId);
+                clinicLocationCatalog.invalidateAfterCommit();
+                clinicStatusCounts.invalidateAfterCommit();
                 log.info("Clinic rejected: {} with reason: {}", clinicId, reason);
 
                 // Create notification for clinic owner (only if status actually changed)
@@ -311,7 +564,7 @@ public class ClinicService {
         public Page<ClinicResponse> getClinicsByOwner(UUID ownerId, Pageable pageable) {
                 // Get ALL clinics owned by user (any status: PENDING, APPROVED, REJECTED)
                 Page<Clinic> clinics = clinicRepository.findByOwnerUserId(ownerId, pageable);
-                return clinics.map(this::mapToResponse);
+                return mapPage(clinics);
         }
 
         @Transactional
@@ -349,6 +602,8 @@ public class ClinicService {
                 clinicImage.setIsPrimary(isPrimary != null ? isPrimary : false);
 
                 clinicImageRepository.save(clinicImage);
+                touch(clinic);
+                clinicDetailCache.invalidateAfterCommit(clinicId);
                 log.info("Clinic image uploaded: {} for clinic: {} by owner: {}",
                                 clinicImage.getImageId(), clinicId, ownerId);
 
@@ -391,6 +646,8 @@ public class ClinicService {
                 }
 
                 clinicImageRepository.delete(clinicImage);
+                touch(clinic);
+                clinicDetailCache.invalidateAfterCommit(clinicId);
                 log.info("Clinic image deleted: {} from clinic: {} by owner: {}", imageId, clinicId, ownerId);
         }
 
@@ -412,7 +669,9 @@ public class ClinicService {
                 targetImage.setIsPrimary(true);
 
                 clinicImageRepository.saveAll(clinic.getImages());
+                touch(clinic);
                 clinic = clinicRepository.save(clinic);
+                clinicDetailCache.invalidateAfterCommit(clinicId);
 
                 log.info("Clinic image set as primary: {} for clinic: {} by owner: {}", imageId, clinicId, ownerId);
                 return mapToResponse(clinic);
@@ -448,13 +707,63 @@ public class ClinicService {
                 // Update logo
                 clinic.setLogo(logoUrl);
                 clinic = clinicRepository.save(clinic);
+                clinicDetailCache.invalidateAfterCommit(clinicId);
                 log.info("Clinic logo updated: {} for clinic: {} by owner: {}", logoUrl, clinicId, ownerId);
 
                 return mapToResponse(clinic);
         }
 
+        /**
+         * Images are part of the clinic detail: bump updatedAt so its ETag
+         * changes (flushed with the transaction)
+         */
+        private static void touch(Clinic clinic) {
+                clinic.setUpdatedAt(LocalDateTime.now());
+        }
+
+        private Page<ClinicResponse> mapPage(Page<Clinic> clinics) {
+                return new PageImpl<>(mapToResponses(clinics.getContent()), clinics.getPageable(),
+                                clinics.getTotalElements());
+        }
+
+        /**
+         * List read model: a constant number of queries per page instead of
+         * two lazy loads per clinic. Owners the list query did not fetch
+         * (native queries) are loaded in one query, images of all clinics in
+         * another.
+         */
+        private List<ClinicResponse> mapToResponses(List<Clinic> clinics) {
+                Set<UUID> missingOwners = clinics.stream()
+                                .map(Clinic::getOwner)
+                                .filter(owner -> !Hibernate.isInitialized(owner))
+                                .map(User::getUserId)
+                                .collect(Collectors.toSet());
+                if (!missingOwners.isEmpty()) {
+                        // Initializes the owner proxies held by the clinics
+                        userRepository.findAllById(missingOwners);
+                }
+
+                List<UUID> missingImages = clinics.stream()
+                                .filter(clinic -> !Hibernate.isInitialized(clinic.getImages()))
+                                .map(Clinic::getClinicId)
+                                .toList();
+                Map<UUID, List<ClinicImage>> imagesByClinic = missingImages.isEmpty() ? Map.of()
+                                : clinicImageRepository.findByClinicIds(missingImages).stream()
+                                                .collect(Collectors.groupingBy(img -> img.getClinic().getClinicId()));
+
+                return clinics.stream()
+                                .map(clinic -> mapToResponse(clinic, Hibernate.isInitialized(clinic.getImages())
+                                                ? clinic.getImages()
+                                                : imagesByClinic.getOrDefault(clinic.getClinicId(), List.of())))
+                                .collect(Collectors.toList());
+        }
+
         private ClinicResponse mapToResponse(Clinic clinic) {
-                List<ClinicImage> sortedImages = clinic.getImages().stream()
+                return mapToResponse(clinic, clinic.getImages());
+        }
+
+        private ClinicResponse mapToResponse(Clinic clinic, List<ClinicImage> images) {
+                List<ClinicImage> sortedImages = images.stream()
                                 .sorted((a, b) -> {
                                         boolean aPrimary = Boolean.TRUE.equals(a.getIsPrimary());
                                         boolean bPrimary = Boolean.TRUE.equals(b.getIsPrimary());
@@ -4,6 +4,7 @@ import com.petties.petties.dto.clinicService.ClinicServiceRequest;
 import com.petties.petties.dto.clinicService.ClinicServiceResponse;
 import com.petties.petties.dto.clinicService.ClinicServiceUpdateRequest;
 import com.petties.petties.dto.clinicService.WeightPriceDto;
+import com.petties.petties.dto.common.VersionStamp;
 import com.petties.petties.exception.BadRequestException;
 import com.petties.petties.exception.ForbiddenException;
 import com.petties.petties.exception.ResourceNotFoundException;
@@ -17,6 +18,7 @@ import com.petties.petties.repository.ClinicRepository;
 import com.petties.petties.repository.ClinicServiceRepository;
 import com.petties.petties.repository.MasterServiceRepository;
 import lombok.RequiredArgsConstructor;
+import com.petties.petties.util.ResourceVersion;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -414,6 +416,44 @@ public class ClinicServiceService {
      */
     @Transactional(readOnly = true)
     public List<ClinicServiceResponse> getServicesByClinicId(UUID clinicId) {
+        Clinic clinic = getOwnedClinic(clinicId);
+
+        List<ClinicService> services = clinicServiceRepository.findByClinic(clinic);
+        return services.stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Version (ETag) of the current owner's service list, without loading
+     * the services
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getAllServicesVersion() {
+        return servicesVersion(getCurrentUserClinic());
+    }
+
+    /**
+     * Version (ETag) of a clinic's service list, same permission check as
+     * {@link #getServicesByClinicId}
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getServicesVersionByClinicId(UUID clinicId) {
+        return servicesVersion(getOwnedClinic(clinicId));
+    }
+
+    private ResourceVersion servicesVersion(Clinic clinic) {
+        VersionStamp services = clinicServiceRepository.findVersionByClinic(clinic);
+        VersionStamp weightPrices = clinicServiceRepository.findWeightPricesVersionByClinic(clinic);
+        return ResourceVersion.of("clinic-services", clinic.getClinicId(),
+                services.getRowCount(), services.getLastModified(),
+                weightPrices.getRowCount(), weightPrices.getLastModified());
+    }
+
+    /**
+     * Clinic by ID, strictly for its owner
+     */
+    private Clinic getOwnedClinic(UUID clinicId) {
         Clinic clinic = clinicRepository.findById(clinicId)
                 .orElseThrow(() -> new ResourceNotFoundException("Không tìm thấy clinic với ID: " + clinicId));
 
@@ -423,11 +463,7 @@ public class ClinicServiceService {
         if (!isOwner) {
             throw new ForbiddenException("Bạn không có quyền xem dịch vụ của clinic này");
         }
-
-        List<ClinicService> services = clinicServiceRepository.findByClinic(clinic);
-        return services.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return clinic;
     }
 
     /**
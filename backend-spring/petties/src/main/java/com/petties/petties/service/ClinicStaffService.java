@@ -14,6 +14,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.UUID;
@@ -27,6 +28,7 @@ public class ClinicStaffService {
     private final UserRepository userRepository;
     private final AuthService authService;
     private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
 
     public List<StaffResponse> getClinicStaff(UUID clinicId) {
         Clinic clinic = clinicRepository.findById(clinicId)
@@ -49,15 +51,23 @@ public class ClinicStaffService {
     }
 
     /**
-     * Create a new account and assign as Manager (For Clinic Owner)
+     * Create a new account and assign as Manager (For Clinic Owner).
+     * The default password is hashed before the transaction opens, so a
+     * queued hash never holds a pooled connection.
      */
-    @Transactional
     public void quickAddStaff(UUID clinicId, QuickAddStaffRequest request) {
         // 1. Check if phone already exists (including soft-deleted users)
         if (userRepository.existsByPhone(request.getPhone())) {
             throw new ResourceAlreadyExistsException("Số điện thoại này đã được đăng ký tài khoản");
         }
 
+        // Default password: last 6 digits of phone
+        String defaultPass = request.getPhone().substring(Math.max(0, request.getPhone().length() - 6));
+        String encodedPassword = passwordEncoder.encode(defaultPass);
+        transactionTemplate.executeWithoutResult(status -> createStaff(clinicId, request, encodedPassword));
+    }
+
+    private void createStaff(UUID clinicId, QuickAddStaffRequest request, String encodedPassword) {
         // 2. Business Rules for Role Management (Phân quyền)
         User currentUser = authService.getCurrentUser();
         Clinic clinic = clinicRepository.findById(clinicId)
@@ -98,10 +108,7 @@ public class ClinicStaffService {
         newUser.setFullName(request.getFullName());
         newUser.setPhone(request.getPhone());
         newUser.setRole(request.getRole());
-
-        // Default password: last 6 digits of phone
-        String defaultPass = request.getPhone().substring(Math.max(0, request.getPhone().length() - 6));
-        newUser.setPassword(passwordEncoder.encode(defaultPass));
+        newUser.setPassword(encodedPassword);
 
         // 4. Assign to clinic
         newUser.setWorkingClinic(clinic);
@@ -0,0 +1,89 @@
+package com.petties.petties.service;
+
+import com.petties.petties.dto.clinic.ClinicStatusCount;
+import com.petties.petties.model.enums.ClinicStatus;
+import com.petties.petties.repository.ClinicRepository;
+import com.petties.petties.util.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cached clinic totals per status, for the list totals of the keyset pages.
+ *
+ * All statuses are counted by one GROUP BY query and kept for a short TTL;
+ * the snapshot is dropped after the commit of any change of the status set
+ * (create, approve, reject, delete), so this node sees its own changes at
+ * once and changes made on other nodes within the TTL.
+ *
+ * A count running while a change commits may have read the old rows.
+ * Invalidation therefore bumps a generation counter and a snapshot is only
+ * fresh while the generation it read before counting is current, the same
+ * guard as the detail cache's L2 writes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClinicStatusCounts {
+
+    private final ClinicRepository clinicRepository;
+
+    @Value("${clinic-status-counts.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private final Object loadLock = new Object();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot; // null until first load
+
+    private record Snapshot(Map<ClinicStatus, Long> counts, long total, long loadedAt, long generation) {
+    }
+
+    /**
+     * @param status null for clinics of every status
+     */
+    public long count(ClinicStatus status) {
+        Snapshot current = current();
+        return status == null ? current.total() : current.counts().getOrDefault(status, 0L);
+    }
+
+    /**
+     * Drop the cached totals once the current transaction commits
+     */
+    public void invalidateAfterCommit() {
+        TransactionUtils.afterCommit(generation::incrementAndGet);
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (isFresh(current)) {
+            return current;
+        }
+        synchronized (loadLock) {
+            current = snapshot;
+            if (isFresh(current)) {
+                return current; // loaded by another thread while we waited
+            }
+            long loadGeneration = generation.get();
+            Map<ClinicStatus, Long> counts = new EnumMap<>(ClinicStatus.class);
+            long total = 0;
+            for (ClinicStatusCount row : clinicRepository.countGroupedByStatus()) {
+                counts.put(row.getStatus(), row.getClinicCount());
+                total += row.getClinicCount();
+            }
+            current = new Snapshot(counts, total, System.nanoTime(), loadGeneration);
+            snapshot = current;
+            log.debug("Clinic status counts loaded: {}", counts);
+            return current;
+        }
+    }
+
+    private boolean isFresh(Snapshot current) {
+        return current != null && current.generation() == generation.get()
+                && System.nanoTime() - current.loadedAt() < ttlSeconds * 1_000_000_000L;
+    }
+}
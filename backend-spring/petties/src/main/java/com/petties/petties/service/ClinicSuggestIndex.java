@@ -0,0 +1,325 @@
+package com.petties.petties.service;
+
+import com.petties.petties.dto.clinic.ClinicSearchTerms;
+import com.petties.petties.dto.clinic.ClinicSuggestionResponse;
+import com.petties.petties.repository.ClinicRepository;
+import com.petties.petties.util.JournaledIndexMap;
+import com.petties.petties.util.TextNormalizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory prefix index for the clinic search box autocomplete.
+ *
+ * Covers names of approved clinics and their (ward, district, province)
+ * tuples. Text is folded (lowercase, Vietnamese diacritics and đ removed), so
+ * "thu y" matches "Thú Y". Every word start of a suggestion is a key in one
+ * sorted array; a query is a binary search for the first key with the prefix
+ * plus a short scan.
+ *
+ * Maintenance:
+ * - full load on ApplicationReadyEvent
+ * - approve/update/reject/delete change the in-memory clinic map after commit
+ * and merge only that clinic's keys into a copy of the sorted arrays (no
+ * re-fold or re-sort of the other suggestions, no database hit). A location
+ * shared by several clinics is counted, so its keys go with the last one.
+ * - periodic reconcile from the database picks up changes made on other nodes
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClinicSuggestIndex {
+
+    private static final int MAX_SCAN = 1000; // bound work for one-letter prefixes
+
+    private final ClinicRepository clinicRepository;
+
+    @Value("${clinic-suggest.enabled:true}")
+    private boolean enabled;
+
+    private final JournaledIndexMap<UUID, ClinicTerms> clinics = new JournaledIndexMap<>(new SnapshotMaintainer());
+    // (ward, district, province) -> clinics there; guarded by the clinics' lock
+    private final Map<List<String>, Integer> locationCounts = new HashMap<>();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    private record ClinicTerms(String name, String province, String district, String ward) {
+
+        List<String> location() {
+            return Arrays.asList(ward, district, province);
+        }
+    }
+
+    private record Suggestion(ClinicSuggestionResponse.Type type, String text, UUID clinicId,
+            String province, String district, String ward) {
+
+        ClinicSuggestionResponse toResponse() {
+            return ClinicSuggestionResponse.builder()
+                    .type(type)
+                    .text(text)
+                    .clinicId(clinicId)
+                    .province(province)
+                    .district(district)
+                    .ward(ward)
+                    .build();
+        }
+    }
+
+    /**
+     * keys[i] is a folded suffix of targets[i]'s text starting at a word
+     * boundary; textStart[i] is true when that boundary is the beginning of
+     * the text
+     */
+    private record Snapshot(String[] keys, Suggestion[] targets, boolean[] textStart) {
+        static final Snapshot EMPTY = new Snapshot(new String[0], new Suggestion[0], new boolean[0]);
+    }
+
+    private record Key(String key, Suggestion target, boolean textStart) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${clinic-suggest.reconcile-ms:300000}",
+            initialDelayString = "${clinic-suggest.reconcile-ms:300000}")
+    public void reconcile() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    /**
+     * Suggestions whose text has a word starting with the query, best first:
+     * matches at the start of the text, then shorter texts
+     */
+    public List<ClinicSuggestionResponse> suggest(String query, int limit) {
+        String prefix = TextNormalizer.fold(query);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        Snapshot current = snapshot;
+
+        int from = lowerBound(current.keys(), prefix);
+        Map<Suggestion, Boolean> matches = new HashMap<>(); // suggestion -> matched at text start
+        for (int i = from; i < current.keys().length && i - from < MAX_SCAN
+                && current.keys()[i].startsWith(prefix); i++) {
+            matches.merge(current.targets()[i], current.textStart()[i], Boolean::logicalOr);
+        }
+
+        return matches.entrySet().stream()
+                .sorted(Comparator.<Map.Entry<Suggestion, Boolean>, Boolean>comparing(Map.Entry::getValue).reversed()
+                        .thenComparingInt(e -> e.getKey().text().length())
+                        .thenComparing(e -> e.getKey().text()))
+                .limit(limit)
+                .map(e -> e.getKey().toResponse())
+                .toList();
+    }
+
+    /**
+     * Add or refresh an approved clinic once the current transaction commits
+     */
+    public void upsertAfterCommit(UUID clinicId, String name, String province, String district, String ward) {
+        if (enabled) {
+            clinics.putAfterCommit(clinicId, new ClinicTerms(name, province, district, ward));
+        }
+    }
+
+    /**
+     * Drop a clinic once the current transaction commits
+     */
+    public void removeAfterCommit(UUID clinicId) {
+        if (enabled) {
+            clinics.removeAfterCommit(clinicId);
+        }
+    }
+
+    private void reload() {
+        try {
+            clinics.reload(() -> {
+                Map<UUID, ClinicTerms> fresh = new HashMap<>();
+                for (ClinicSearchTerms terms : clinicRepository.findApprovedSearchTerms()) {
+                    fresh.put(terms.getClinicId(), new ClinicTerms(terms.getName(), terms.getProvince(),
+                            terms.getDistrict(), terms.getWard()));
+                }
+                return fresh;
+            });
+            log.info("Clinic suggest index loaded {} clinics, {} keys", clinics.size(), snapshot.keys().length);
+        } catch (Exception e) {
+            log.warn("Could not load clinic suggest index", e);
+        }
+    }
+
+    /**
+     * Keeps the sorted keys in step with the clinics, under the clinics' lock
+     */
+    private final class SnapshotMaintainer implements JournaledIndexMap.Listener<UUID, ClinicTerms> {
+
+        @Override
+        public void changed(UUID clinicId, ClinicTerms oldTerms, ClinicTerms newTerms) {
+            update(clinicId, oldTerms, newTerms);
+        }
+
+        @Override
+        public void reloaded(Map<UUID, ClinicTerms> entries) {
+            rebuild(entries);
+        }
+    }
+
+    /**
+     * Replace one clinic's suggestions: its name, and its location when no
+     * other clinic shares it
+     */
+    private void update(UUID clinicId, ClinicTerms old, ClinicTerms terms) {
+        List<Suggestion> removed = new ArrayList<>();
+        List<Suggestion> added = new ArrayList<>();
+        if (old != null) {
+            addIfPresent(removed, clinicSuggestion(clinicId, old));
+            if (locationCounts.merge(old.location(), -1, Integer::sum) == 0) {
+                locationCounts.remove(old.location());
+                addIfPresent(removed, locationSuggestion(old.location()));
+            }
+        }
+        if (terms != null) {
+            addIfPresent(added, clinicSuggestion(clinicId, terms));
+            if (locationCounts.merge(terms.location(), 1, Integer::sum) == 1) {
+                addIfPresent(added, locationSuggestion(terms.location()));
+            }
+        }
+        // Unchanged name or location: nothing to move
+        List<Suggestion> kept = new ArrayList<>(removed);
+        kept.retainAll(added);
+        removed.removeAll(kept);
+        added.removeAll(kept);
+        if (!removed.isEmpty() || !added.isEmpty()) {
+            snapshot = merge(snapshot, Set.copyOf(removed), keysOf(added));
+        }
+    }
+
+    /**
+     * Full rebuild after a reload
+     */
+    private void rebuild(Map<UUID, ClinicTerms> entries) {
+        locationCounts.clear();
+        List<Suggestion> suggestions = new ArrayList<>();
+        entries.forEach((clinicId, terms) -> {
+            addIfPresent(suggestions, clinicSuggestion(clinicId, terms));
+            locationCounts.merge(terms.location(), 1, Integer::sum);
+        });
+        locationCounts.keySet().forEach(location -> addIfPresent(suggestions, locationSuggestion(location)));
+        snapshot = merge(Snapshot.EMPTY, Set.of(), keysOf(suggestions));
+    }
+
+    private static void addIfPresent(List<Suggestion> suggestions, Suggestion suggestion) {
+        if (suggestion != null) {
+            suggestions.add(suggestion);
+        }
+    }
+
+    private static Suggestion clinicSuggestion(UUID clinicId, ClinicTerms terms) {
+        if (terms.name() == null || terms.name().isBlank()) {
+            return null;
+        }
+        return new Suggestion(ClinicSuggestionResponse.Type.CLINIC, terms.name(), clinicId,
+                terms.province(), terms.district(), terms.ward());
+    }
+
+    /**
+     * @param location (ward, district, province)
+     */
+    private static Suggestion locationSuggestion(List<String> location) {
+        String text = location.stream()
+                .filter(Objects::nonNull)
+                .filter(part -> !part.isBlank())
+                .collect(Collectors.joining(", "));
+        if (text.isEmpty()) {
+            return null;
+        }
+        return new Suggestion(ClinicSuggestionResponse.Type.LOCATION, text, null,
+                location.get(2), location.get(1), location.get(0));
+    }
+
+    /**
+     * Keys of the suggestions, sorted
+     */
+    private static List<Key> keysOf(List<Suggestion> suggestions) {
+        List<Key> keys = new ArrayList<>();
+        for (Suggestion suggestion : suggestions) {
+            String folded = TextNormalizer.fold(suggestion.text());
+            for (int start = 0; start < folded.length(); start++) {
+                if (start == 0 || folded.charAt(start - 1) == ' ') {
+                    keys.add(new Key(folded.substring(start), suggestion, start == 0));
+                }
+            }
+        }
+        keys.sort(Comparator.comparing(Key::key));
+        return keys;
+    }
+
+    /**
+     * New snapshot: the current keys minus those of removed suggestions,
+     * merged with the sorted added keys in one linear pass
+     */
+    private static Snapshot merge(Snapshot current, Set<Suggestion> removed, List<Key> added) {
+        int n = current.keys().length;
+        int capacity = n + added.size();
+        String[] keys = new String[capacity];
+        Suggestion[] targets = new Suggestion[capacity];
+        boolean[] textStart = new boolean[capacity];
+        int size = 0;
+        int j = 0;
+        for (int i = 0; i < n; i++) {
+            if (removed.contains(current.targets()[i])) {
+                continue;
+            }
+            for (; j < added.size() && added.get(j).key().compareTo(current.keys()[i]) < 0; j++, size++) {
+                keys[size] = added.get(j).key();
+                targets[size] = added.get(j).target();
+                textStart[size] = added.get(j).textStart();
+            }
+            keys[size] = current.keys()[i];
+            targets[size] = current.targets()[i];
+            textStart[size] = current.textStart()[i];
+            size++;
+        }
+        for (; j < added.size(); j++, size++) {
+            keys[size] = added.get(j).key();
+            targets[size] = added.get(j).target();
+            textStart[size] = added.get(j).textStart();
+        }
+        return new Snapshot(Arrays.copyOf(keys, size), Arrays.copyOf(targets, size),
+                Arrays.copyOf(textStart, size));
+    }
+
+    private static int lowerBound(String[] keys, String prefix) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
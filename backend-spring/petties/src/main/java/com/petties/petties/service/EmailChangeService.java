@@ -33,6 +33,7 @@ public class EmailChangeService {
     private final OtpService otpService;
     private final EmailService emailService;
     private final OtpRedisService otpRedisService;
+    private final ClinicService clinicService;
 
     /**
      * Yeu cau thay doi email.
@@ -139,6 +140,7 @@ public class EmailChangeService {
         String oldEmail = user.getEmail();
         user.setEmail(newEmail);
         user = userRepository.save(user);
+        clinicService.invalidateOwnerClinics(userId); // clinic detail shows the owner's email
 
         // 8. Xoa OTP tu Redis
         otpRedisService.deleteEmailChangeOtp(userId);
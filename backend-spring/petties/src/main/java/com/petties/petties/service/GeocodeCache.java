@@ -0,0 +1,179 @@
+package com.petties.petties.service;
+
+import com.petties.petties.util.ExpiringLruCache;
+import com.petties.petties.util.TextNormalizer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Two-tier cache for Goong geocoding results.
+ *
+ * - L1: node-local LRU with a short TTL
+ * - L2: Redis, shared by all nodes, long TTL
+ *
+ * Forward lookups are keyed by a normalized address (case, whitespace,
+ * diacritics and "Q."/"P."-style abbreviations), reverse lookups by the
+ * coordinates snapped to a small grid cell. "No result" answers are cached
+ * too (negative caching) with a shorter TTL; provider errors are not cached.
+ *
+ * Key pattern: "geocode:fwd:{normalizedAddress}", "geocode:rev:{lat},{lng}"
+ * Metrics: petties.geocode.cache{kind, result=l1_hit|l2_hit|miss}
+ */
+@Slf4j
+@Component
+public class GeocodeCache {
+
+    /** Stored for lookups the provider answered with no result */
+    static final String NOT_FOUND = "-";
+
+    private static final String KEY_PREFIX = "geocode:";
+
+    private static final Pattern DOTTED_ABBREVIATION = Pattern.compile("(?<![\\p{L}\\p{N}])(tp|tx|q|p|h|x|d)\\.");
+    private static final Pattern NUMBERED_ABBREVIATION = Pattern.compile("(?<![\\p{L}\\p{N}])(q|p)(\\d+)");
+    private static final Map<String, String> ABBREVIATIONS = Map.of(
+            "tp", "thanh pho",
+            "tx", "thi xa",
+            "q", "quan",
+            "p", "phuong",
+            "h", "huyen",
+            "x", "xa",
+            "d", "duong");
+
+    public enum Kind {
+        FORWARD, REVERSE
+    }
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Map<Kind, Counter> l1Hits = new EnumMap<>(Kind.class);
+    private final Map<Kind, Counter> l2Hits = new EnumMap<>(Kind.class);
+    private final Map<Kind, Counter> misses = new EnumMap<>(Kind.class);
+
+    @Value("${location.geocode-cache.l1-ttl-seconds:3600}")
+    private long l1TtlSeconds;
+
+    @Value("${location.geocode-cache.ttl-seconds:2592000}")
+    private long ttlSeconds; // 30 days: addresses rarely move
+
+    @Value("${location.geocode-cache.negative-ttl-seconds:3600}")
+    private long negativeTtlSeconds;
+
+    @Value("${location.geocode-cache.reverse-precision:4}")
+    private int reversePrecision; // decimal places, 4 ~ 11 m
+
+    private final ExpiringLruCache<String, String> l1;
+
+    public GeocodeCache(StringRedisTemplate stringRedisTemplate, MeterRegistry meterRegistry,
+            @Value("${location.geocode-cache.l1-max-entries:10000}") int l1MaxEntries) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.l1 = new ExpiringLruCache<>(l1MaxEntries);
+        for (Kind kind : Kind.values()) {
+            String tag = kind.name().toLowerCase();
+            l1Hits.put(kind, counter(meterRegistry, tag, "l1_hit"));
+            l2Hits.put(kind, counter(meterRegistry, tag, "l2_hit"));
+            misses.put(kind, counter(meterRegistry, tag, "miss"));
+        }
+        Gauge.builder("petties.geocode.cache.l1.size", this, cache -> cache.l1.size())
+                .register(meterRegistry);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String kind, String result) {
+        return Counter.builder("petties.geocode.cache")
+                .tag("kind", kind)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cached value for the key, or the loader's result (stored in both tiers)
+     *
+     * @param loader returns the value, or {@link #NOT_FOUND} when the
+     *               provider has no result; exceptions propagate uncached
+     */
+    public String getOrLoad(Kind kind, String key, Supplier<String> loader) {
+        String value = getLocal(key);
+        if (value != null) {
+            l1Hits.get(kind).increment();
+            return value;
+        }
+        value = getRemote(key);
+        if (value != null) {
+            l2Hits.get(kind).increment();
+            putLocal(key, value);
+            return value;
+        }
+        misses.get(kind).increment();
+        value = loader.get();
+        putLocal(key, value);
+        putRemote(key, value);
+        return value;
+    }
+
+    /**
+     * "Q.1, TP. Hồ Chí Minh" and "quan 1 thanh pho ho chi minh" give the same key
+     */
+    public static String forwardKey(String address) {
+        String text = TextNormalizer.stripDiacritics(address);
+        text = expand(DOTTED_ABBREVIATION.matcher(text), m -> ABBREVIATIONS.get(m.group(1)) + " ");
+        text = expand(NUMBERED_ABBREVIATION.matcher(text), m -> ABBREVIATIONS.get(m.group(1)) + " " + m.group(2));
+        return "fwd:" + TextNormalizer.fold(text);
+    }
+
+    /**
+     * Coordinates snapped to {@code reverse-precision} decimal places
+     */
+    public String reverseKey(BigDecimal latitude, BigDecimal longitude) {
+        return "rev:" + latitude.setScale(reversePrecision, RoundingMode.HALF_UP).toPlainString()
+                + "," + longitude.setScale(reversePrecision, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    private static String expand(Matcher matcher, Function<Matcher, String> replacement) {
+        StringBuilder sb = new StringBuilder();
+        while (matcher.find()) {
+            matcher.appendReplacement(sb, Matcher.quoteReplacement(replacement.apply(matcher)));
+        }
+        matcher.appendTail(sb);
+        return sb.toString();
+    }
+
+    private String getLocal(String key) {
+        return l1.get(key);
+    }
+
+    private void putLocal(String key, String value) {
+        long ttl = NOT_FOUND.equals(value) ? Math.min(l1TtlSeconds, negativeTtlSeconds) : l1TtlSeconds;
+        l1.put(key, value, ttl * 1000);
+    }
+
+    private String getRemote(String key) {
+        try {
+            return stringRedisTemplate.opsForValue().get(KEY_PREFIX + key);
+        } catch (Exception e) {
+            log.warn("Geocode cache read from Redis failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void putRemote(String key, String value) {
+        long ttl = NOT_FOUND.equals(value) ? negativeTtlSeconds : ttlSeconds;
+        try {
+            stringRedisTemplate.opsForValue().set(KEY_PREFIX + key, value, Duration.ofSeconds(ttl));
+        } catch (Exception e) {
+            log.warn("Geocode cache write to Redis failed: {}", e.getMessage());
+        }
+    }
+}
@@ -1,39 +1,60 @@
 package com.petties.petties.service;
 
-import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
-import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
-import com.google.api.client.http.javanet.NetHttpTransport;
-import com.google.api.client.json.gson.GsonFactory;
 import com.petties.petties.exception.UnauthorizedException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
 import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
+import java.security.Key;
+import java.util.Set;
 
 /**
  * Service for Google ID Token verification
+ *
+ * Signature is checked locally against Google's public keys cached by
+ * {@link GoogleJwksCache}, so a sign-in normally makes no call to Google.
  */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class GoogleAuthService {
 
+    private static final Set<String> GOOGLE_ISSUERS = Set.of("accounts.google.com", "https://accounts.google.com");
+    private static final long CLOCK_SKEW_SECONDS = 60;
+
+    private final GoogleJwksCache googleJwksCache;
+
     @Value("${google.client-id}")
     private String googleClientId;
 
-    private GoogleIdTokenVerifier verifier;
+    private JwtParser parser;
 
     @PostConstruct
     public void init() {
-        verifier = new GoogleIdTokenVerifier.Builder(
-                new NetHttpTransport(),
-                GsonFactory.getDefaultInstance()
-        )
-        .setAudience(Collections.singletonList(googleClientId))
-        .build();
-        
-        log.info("GoogleAuthService initialized with client ID: {}...", 
+        parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        Key key = googleJwksCache.getKey(header.getKeyId());
+                        if (key == null) {
+                            throw new UnauthorizedException("Unknown Google signing key");
+                        }
+                        return key;
+                    }
+                })
+                .requireAudience(googleClientId)
+                .clockSkewSeconds(CLOCK_SKEW_SECONDS)
+                .build();
+
+        log.info("GoogleAuthService initialized with client ID: {}...",
                 googleClientId.substring(0, Math.min(20, googleClientId.length())));
     }
 
@@ -46,25 +67,22 @@ public class GoogleAuthService {
      */
     public GoogleUserInfo verifyIdToken(String idToken) {
         try {
-            GoogleIdToken googleIdToken = verifier.verify(idToken);
-            
-            if (googleIdToken == null) {
-                log.error("Invalid Google ID token - verification returned null");
+            Claims payload = parser.parseSignedClaims(idToken).getPayload();
+
+            if (!GOOGLE_ISSUERS.contains(payload.getIssuer())) {
+                log.error("Invalid Google ID token - unexpected issuer: {}", payload.getIssuer());
                 throw new UnauthorizedException("Invalid Google ID token");
             }
 
-            GoogleIdToken.Payload payload = googleIdToken.getPayload();
-            
             // Verify email is verified
-            Boolean emailVerified = payload.getEmailVerified();
-            if (emailVerified == null || !emailVerified) {
+            if (!isTrue(payload.get("email_verified"))) {
                 log.error("Google account email not verified");
                 throw new UnauthorizedException("Google account email not verified");
             }
 
-            String email = payload.getEmail();
-            String name = (String) payload.get("name");
-            String picture = (String) payload.get("picture");
+            String email = payload.get("email", String.class);
+            String name = payload.get("name", String.class);
+            String picture = payload.get("picture", String.class);
             String googleId = payload.getSubject();
 
             log.info("Successfully verified Google ID token for email: {}", email);
@@ -73,12 +91,20 @@ public class GoogleAuthService {
             
         } catch (UnauthorizedException e) {
             throw e;
+        } catch (JwtException | IllegalArgumentException e) {
+            log.error("Invalid Google ID token: {}", e.getMessage());
+            throw new UnauthorizedException("Invalid Google ID token");
         } catch (Exception e) {
             log.error("Error verifying Google ID token: {}", e.getMessage());
             throw new UnauthorizedException("Failed to verify Google ID token: " + e.getMessage());
         }
     }
 
+    // Google sends email_verified as boolean, some older tokens as "true"
+    private static boolean isTrue(Object value) {
+        return Boolean.TRUE.equals(value) || "true".equals(value);
+    }
+
     /**
      * Data class for Google user information
      */
@@ -89,4 +115,3 @@ public class GoogleAuthService {
             String picture
     ) {}
 }
-
@@ -0,0 +1,172 @@
+package com.petties.petties.service;
+
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.security.Key;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory cache of Google's ID token signing keys (JWKS).
+ *
+ * - Keys are kept until the Cache-Control max-age Google sends
+ * - Within {@code refreshAhead} of expiry, callers still get the cached keys
+ * and a single background refresh is started (refresh-ahead)
+ * - Only a cold cache, a fully expired cache or an unknown "kid" fetch
+ * synchronously; unknown kids refetch at most once per {@code minRefetchInterval}
+ *
+ * The JWKS URI is configurable so tests can point it at a local stand-in.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GoogleJwksCache {
+
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    private final RestTemplate restTemplate;
+
+    @Value("${google.jwks-uri:https://www.googleapis.com/oauth2/v3/certs}")
+    private String jwksUri;
+
+    @Value("${google.jwks.default-ttl-seconds:3600}")
+    private long defaultTtlSeconds;
+
+    @Value("${google.jwks.refresh-ahead-seconds:300}")
+    private long refreshAheadSeconds;
+
+    @Value("${google.jwks.min-refetch-interval-seconds:30}")
+    private long minRefetchIntervalSeconds;
+
+    private volatile CachedKeys cachedKeys = CachedKeys.EMPTY;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final Object fetchLock = new Object();
+
+    /**
+     * Fetch keys in the background at startup so the first sign-in does not
+     * pay for the round trip to Google.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        refreshInBackground();
+    }
+
+    /**
+     * Look up the public key for a JWS "kid" header
+     *
+     * @return the key, or null if Google does not publish that kid
+     */
+    public PublicKey getKey(String kid) {
+        CachedKeys current = cachedKeys;
+        Instant now = Instant.now();
+
+        if (current.isExpired(now)) {
+            current = fetchIfStale(current);
+        } else if (current.needsRefresh(now, refreshAheadSeconds)) {
+            refreshInBackground();
+        }
+
+        PublicKey key = current.keys().get(kid);
+        if (key == null && current.fetchedAt().plusSeconds(minRefetchIntervalSeconds).isBefore(now)) {
+            // Google may have rotated keys before our cache expired
+            key = fetchIfStale(current).keys().get(kid);
+        }
+        return key;
+    }
+
+    private void refreshInBackground() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        CompletableFuture.runAsync(() -> {
+            try {
+                cachedKeys = fetch();
+            } catch (Exception e) {
+                log.warn("Background refresh of Google JWKS failed, keeping cached keys: {}", e.getMessage());
+            } finally {
+                refreshing.set(false);
+            }
+        });
+    }
+
+    /**
+     * Single-flight synchronous fetch: concurrent callers wait for one request
+     * and reuse its result.
+     */
+    private CachedKeys fetchIfStale(CachedKeys seen) {
+        synchronized (fetchLock) {
+            if (cachedKeys != seen) {
+                return cachedKeys; // another thread already refreshed
+            }
+            try {
+                cachedKeys = fetch();
+            } catch (Exception e) {
+                if (seen.keys().isEmpty()) {
+                    throw new IllegalStateException("Could not fetch Google public keys", e);
+                }
+                log.warn("Could not refresh Google JWKS, using stale keys: {}", e.getMessage());
+            }
+            return cachedKeys;
+        }
+    }
+
+    private CachedKeys fetch() {
+        ResponseEntity<String> response = restTemplate.getForEntity(jwksUri, String.class);
+        JwkSet jwkSet = Jwks.setParser().build().parse(response.getBody());
+
+        Map<String, PublicKey> keys = new HashMap<>();
+        for (Jwk<?> jwk : jwkSet) {
+            Key key = jwk.toKey();
+            if (jwk.getId() != null && key instanceof PublicKey publicKey) {
+                keys.put(jwk.getId(), publicKey);
+            }
+        }
+
+        Instant now = Instant.now();
+        Duration ttl = Duration.ofSeconds(maxAgeSeconds(response.getHeaders()));
+        log.debug("Fetched {} Google public keys, valid for {}", keys.size(), ttl);
+        return new CachedKeys(Map.copyOf(keys), now, now.plus(ttl));
+    }
+
+    private long maxAgeSeconds(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl != null) {
+            Matcher matcher = MAX_AGE.matcher(cacheControl);
+            if (matcher.find()) {
+                return Long.parseLong(matcher.group(1));
+            }
+        }
+        return defaultTtlSeconds;
+    }
+
+    private record CachedKeys(Map<String, PublicKey> keys, Instant fetchedAt, Instant expiresAt) {
+
+        static final CachedKeys EMPTY = new CachedKeys(Map.of(), Instant.EPOCH, Instant.EPOCH);
+
+        boolean isExpired(Instant now) {
+            return !now.isBefore(expiresAt);
+        }
+
+        boolean needsRefresh(Instant now, long refreshAheadSeconds) {
+            return !now.isBefore(expiresAt.minusSeconds(refreshAheadSeconds));
+        }
+    }
+}
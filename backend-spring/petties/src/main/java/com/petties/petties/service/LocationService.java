@@ -2,8 +2,11 @@ package com.petties.petties.service;
 
 import com.petties.petties.dto.clinic.DistanceResponse;
 import com.petties.petties.dto.clinic.GeocodeResponse;
+import com.petties.petties.util.ExpiringLruCache;
+import com.petties.petties.util.Haversine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -12,7 +15,11 @@ import org.springframework.web.util.UriComponentsBuilder;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Service for Location-based services (Geocoding and Distance calculation)
@@ -25,7 +32,9 @@ import java.util.Map;
 @Slf4j
 public class LocationService {
 
-    private final RestTemplate restTemplate;
+    @Qualifier("locationRestTemplate")
+    private final RestTemplate restTemplate; // pooled, with timeouts, bulkhead and circuit breaker
+    private final GeocodeCache geocodeCache;
 
     @Value("${goong.api.key:}")
     private String apiKey;
@@ -36,93 +45,125 @@ public class LocationService {
     @Value("${goong.distance.url:https://rsapi.goong.io/distancematrix}")
     private String distanceMatrixUrl;
 
+    @Value("${goong.distance.max-destinations:25}")
+    private int maxDestinations; // provider limit per matrix call
+
+    @Value("${goong.distance.route-cache-ttl-seconds:300}")
+    private long routeCacheTtlSeconds;
+
+    private final ExpiringLruCache<String, Route> routeCache = new ExpiringLruCache<>(10_000);
+
+    /**
+     * Forward geocoding, answered from {@link GeocodeCache} when the same
+     * (normalized) address was looked up before
+     */
     public GeocodeResponse geocode(String address) {
         if (apiKey == null || apiKey.isEmpty()) {
             log.warn("Goong API key not configured. Geocoding disabled.");
             throw new IllegalStateException("Location API key not configured");
         }
 
+        String cached;
         try {
-            String url = UriComponentsBuilder.fromUriString(geocodingUrl)
-                    .queryParam("address", address)
-                    .queryParam("api_key", apiKey)
-                    .toUriString();
+            cached = geocodeCache.getOrLoad(GeocodeCache.Kind.FORWARD, GeocodeCache.forwardKey(address),
+                    () -> fetchGeocode(address));
+        } catch (Exception e) {
+            log.error("Error geocoding address: {}", address, e);
+            throw new RuntimeException("Failed to geocode address: " + e.getMessage(), e);
+        }
+        if (GeocodeCache.NOT_FOUND.equals(cached)) {
+            throw new RuntimeException("Failed to geocode address: No results found for address: " + address);
+        }
 
-            @SuppressWarnings("unchecked")
-            ResponseEntity<Map<String, Object>> response = (ResponseEntity<Map<String, Object>>) (ResponseEntity<?>) restTemplate
-                    .getForEntity(url, Map.class);
-            Map<String, Object> body = response.getBody();
+        // Cached as "lat|lng|formattedAddress"
+        String[] parts = cached.split("\\|", 3);
+        return GeocodeResponse.builder()
+                .latitude(new BigDecimal(parts[0]))
+                .longitude(new BigDecimal(parts[1]))
+                .formattedAddress(parts[2].isEmpty() ? null : parts[2])
+                .build();
+    }
 
-            if (body == null || body.get("results") == null) {
-                log.error("Geocoding failed: {}", body != null ? body.get("status") : "Unknown error");
-                throw new RuntimeException(
-                        "Geocoding failed: " + (body != null ? body.get("status") : "Unknown error"));
-            }
+    private String fetchGeocode(String address) {
+        String url = UriComponentsBuilder.fromUriString(geocodingUrl)
+                .queryParam("address", address)
+                .queryParam("api_key", apiKey)
+                .toUriString();
 
-            @SuppressWarnings("unchecked")
-            java.util.List<Map<String, Object>> results = (java.util.List<Map<String, Object>>) body.get("results");
-            if (results == null || results.isEmpty()) {
-                throw new RuntimeException("No results found for address: " + address);
-            }
+        List<Map<String, Object>> results = fetchResults(url);
+        if (results.isEmpty()) {
+            return GeocodeCache.NOT_FOUND;
+        }
 
-            Map<String, Object> result = results.get(0);
-            @SuppressWarnings("unchecked")
-            Map<String, Object> geometry = (Map<String, Object>) result.get("geometry");
-            @SuppressWarnings("unchecked")
-            Map<String, Object> location = (Map<String, Object>) geometry.get("location");
-
-            BigDecimal lat = BigDecimal.valueOf(((Number) location.get("lat")).doubleValue())
-                    .setScale(8, RoundingMode.HALF_UP);
-            BigDecimal lng = BigDecimal.valueOf(((Number) location.get("lng")).doubleValue())
-                    .setScale(8, RoundingMode.HALF_UP);
-            String formattedAddress = (String) result.get("formatted_address");
-
-            return GeocodeResponse.builder()
-                    .latitude(lat)
-                    .longitude(lng)
-                    .formattedAddress(formattedAddress)
-                    .build();
+        Map<String, Object> result = results.get(0);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> geometry = (Map<String, Object>) result.get("geometry");
+        @SuppressWarnings("unchecked")
+        Map<String, Object> location = (Map<String, Object>) geometry.get("location");
 
-        } catch (Exception e) {
-            log.error("Error geocoding address: {}", address, e);
-            throw new RuntimeException("Failed to geocode address: " + e.getMessage(), e);
-        }
+        BigDecimal lat = BigDecimal.valueOf(((Number) location.get("lat")).doubleValue())
+                .setScale(8, RoundingMode.HALF_UP);
+        BigDecimal lng = BigDecimal.valueOf(((Number) location.get("lng")).doubleValue())
+                .setScale(8, RoundingMode.HALF_UP);
+        String formattedAddress = (String) result.get("formatted_address");
+
+        return lat.toPlainString() + "|" + lng.toPlainString() + "|"
+                + (formattedAddress != null ? formattedAddress : "");
     }
 
+    /**
+     * Reverse geocoding, cached per snapped coordinate cell
+     */
     public String reverseGeocode(BigDecimal latitude, BigDecimal longitude) {
         if (apiKey == null || apiKey.isEmpty()) {
             log.warn("Goong API key not configured. Reverse geocoding disabled.");
             throw new IllegalStateException("Location API key not configured");
         }
 
+        String cached;
         try {
-            String url = UriComponentsBuilder.fromUriString(geocodingUrl)
-                    .queryParam("latlng", latitude + "," + longitude)
-                    .queryParam("api_key", apiKey)
-                    .toUriString();
-
-            @SuppressWarnings("unchecked")
-            ResponseEntity<Map<String, Object>> response = (ResponseEntity<Map<String, Object>>) (ResponseEntity<?>) restTemplate
-                    .getForEntity(url, Map.class);
-            Map<String, Object> body = response.getBody();
-
-            if (body == null || body.get("results") == null) {
-                log.error("Reverse geocoding failed: {}", body != null ? body.get("status") : "Unknown error");
-                throw new RuntimeException("Reverse geocoding failed");
-            }
-
-            @SuppressWarnings("unchecked")
-            java.util.List<Map<String, Object>> results = (java.util.List<Map<String, Object>>) body.get("results");
-            if (results == null || results.isEmpty()) {
-                throw new RuntimeException("No results found for coordinates");
-            }
-
-            return (String) results.get(0).get("formatted_address");
-
+            cached = geocodeCache.getOrLoad(GeocodeCache.Kind.REVERSE,
+                    geocodeCache.reverseKey(latitude, longitude), () -> fetchReverseGeocode(latitude, longitude));
         } catch (Exception e) {
             log.error("Error reverse geocoding coordinates: {}, {}", latitude, longitude, e);
             throw new RuntimeException("Failed to reverse geocode: " + e.getMessage(), e);
         }
+        if (GeocodeCache.NOT_FOUND.equals(cached)) {
+            throw new RuntimeException("Failed to reverse geocode: No results found for coordinates");
+        }
+        return cached;
+    }
+
+    private String fetchReverseGeocode(BigDecimal latitude, BigDecimal longitude) {
+        String url = UriComponentsBuilder.fromUriString(geocodingUrl)
+                .queryParam("latlng", latitude + "," + longitude)
+                .queryParam("api_key", apiKey)
+                .toUriString();
+
+        List<Map<String, Object>> results = fetchResults(url);
+        String formattedAddress = results.isEmpty() ? null : (String) results.get(0).get("formatted_address");
+        return formattedAddress != null ? formattedAddress : GeocodeCache.NOT_FOUND;
+    }
+
+    /**
+     * "results" of a Goong geocode response; empty when Goong found nothing
+     *
+     * @throws RuntimeException when the response has no "results" at all
+     */
+    private List<Map<String, Object>> fetchResults(String url) {
+        @SuppressWarnings("unchecked")
+        ResponseEntity<Map<String, Object>> response = (ResponseEntity<Map<String, Object>>) (ResponseEntity<?>) restTemplate
+                .getForEntity(url, Map.class);
+        Map<String, Object> body = response.getBody();
+
+        if (body == null || body.get("results") == null) {
+            log.error("Geocoding failed: {}", body != null ? body.get("status") : "Unknown error");
+            throw new RuntimeException("Geocoding failed: " + (body != null ? body.get("status") : "Unknown error"));
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> results = (List<Map<String, Object>>) body.get("results");
+        return results;
     }
 
     /**
@@ -130,21 +171,7 @@ public class LocationService {
      */
     public double calculateDistance(BigDecimal lat1, BigDecimal lng1,
             BigDecimal lat2, BigDecimal lng2) {
-        // Haversine formula
-        final int EARTH_RADIUS_KM = 6371;
-
-        double lat1Rad = Math.toRadians(lat1.doubleValue());
-        double lat2Rad = Math.toRadians(lat2.doubleValue());
-        double deltaLat = Math.toRadians(lat2.doubleValue() - lat1.doubleValue());
-        double deltaLng = Math.toRadians(lng2.doubleValue() - lng1.doubleValue());
-
-        double a = Math.sin(deltaLat / 2) * Math.sin(deltaLat / 2) +
-                Math.cos(lat1Rad) * Math.cos(lat2Rad) *
-                        Math.sin(deltaLng / 2) * Math.sin(deltaLng / 2);
-
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-
-        return EARTH_RADIUS_KM * c;
+        return Haversine.distanceKm(lat1.doubleValue(), lng1.doubleValue(), lat2.doubleValue(), lng2.doubleValue());
     }
 
     /**
@@ -153,74 +180,146 @@ public class LocationService {
      */
     public DistanceResponse calculateDistanceMatrix(BigDecimal originLat, BigDecimal originLng,
             BigDecimal destLat, BigDecimal destLng) {
+        return calculateDistanceMatrix(originLat, originLng, List.of(new Destination(destLat, destLng))).get(0);
+    }
+
+    /**
+     * Road distances from one origin to many destinations, in destination
+     * order. Routes seen in the last few minutes come from a local cache, the
+     * rest are fetched with one matrix call per {@code max-destinations}
+     * chunk. Elements the provider cannot route fall back to Haversine
+     * ({@link DistanceResponse#isEstimated()}).
+     */
+    public List<DistanceResponse> calculateDistanceMatrix(BigDecimal originLat, BigDecimal originLng,
+            List<Destination> destinations) {
+        DistanceResponse[] results = new DistanceResponse[destinations.size()];
         if (apiKey == null || apiKey.isEmpty()) {
             log.info("Location API key not configured. Using Haversine formula.");
-            double distance = calculateDistance(originLat, originLng, destLat, destLng);
-            return DistanceResponse.builder()
-                    .distance(distance)
-                    .unit("km")
-                    .build();
+            for (int i = 0; i < results.length; i++) {
+                results[i] = haversineResponse(originLat, originLng, destinations.get(i));
+            }
+            return List.of(results);
         }
 
+        List<Integer> uncached = new ArrayList<>();
+        for (int i = 0; i < results.length; i++) {
+            Route route = routeCache.get(routeKey(originLat, originLng, destinations.get(i)));
+            if (route != null) {
+                results[i] = route.toResponse();
+            } else {
+                uncached.add(i);
+            }
+        }
+
+        for (int from = 0; from < uncached.size(); from += maxDestinations) {
+            List<Integer> chunk = uncached.subList(from, Math.min(from + maxDestinations, uncached.size()));
+            fetchDistanceChunk(originLat, originLng, destinations, chunk, results);
+        }
+        return List.of(results);
+    }
+
+    /**
+     * One matrix call for the destinations at the given indexes; fills
+     * results[index] for each of them
+     */
+    private void fetchDistanceChunk(BigDecimal originLat, BigDecimal originLng, List<Destination> destinations,
+            List<Integer> indexes, DistanceResponse[] results) {
+        List<Map<String, Object>> elements = List.of();
         try {
-            String origins = originLat + "," + originLng;
-            String destinations = destLat + "," + destLng;
+            String destinationParam = indexes.stream()
+                    .map(i -> destinations.get(i).latitude() + "," + destinations.get(i).longitude())
+                    .collect(Collectors.joining("|"));
 
-            String url = UriComponentsBuilder.fromUriString(distanceMatrixUrl)
-                    .queryParam("origins", origins)
-                    .queryParam("destinations", destinations)
+            URI uri = UriComponentsBuilder.fromUriString(distanceMatrixUrl)
+                    .queryParam("origins", originLat + "," + originLng)
+                    .queryParam("destinations", destinationParam)
                     .queryParam("api_key", apiKey)
-                    .toUriString();
+                    .encode()
+                    .build()
+                    .toUri();
 
             @SuppressWarnings("unchecked")
             ResponseEntity<Map<String, Object>> response = (ResponseEntity<Map<String, Object>>) (ResponseEntity<?>) restTemplate
-                    .getForEntity(url, Map.class);
+                    .getForEntity(uri, Map.class);
             Map<String, Object> body = response.getBody();
 
             if (body == null || !"OK".equals(body.get("status"))) {
                 log.warn("Distance Matrix API failed, falling back to Haversine formula");
-                double distance = calculateDistance(originLat, originLng, destLat, destLng);
-                return DistanceResponse.builder()
-                        .distance(distance)
-                        .unit("km")
-                        .build();
+            } else {
+                @SuppressWarnings("unchecked")
+                List<Map<String, Object>> rows = (List<Map<String, Object>>) body.get("rows");
+                if (rows != null && !rows.isEmpty() && rows.get(0).get("elements") != null) {
+                    @SuppressWarnings("unchecked")
+                    List<Map<String, Object>> rowElements = (List<Map<String, Object>>) rows.get(0).get("elements");
+                    elements = rowElements;
+                }
             }
+        } catch (Exception e) {
+            log.error("Error calculating distance matrix, falling back to Haversine formula", e);
+        }
 
-            @SuppressWarnings("unchecked")
-            java.util.List<Map<String, Object>> rows = (java.util.List<Map<String, Object>>) body.get("rows");
-            if (rows == null || rows.isEmpty()) {
-                throw new RuntimeException("No results from Distance Matrix API");
+        for (int j = 0; j < indexes.size(); j++) {
+            int index = indexes.get(j);
+            Destination destination = destinations.get(index);
+            Route route = j < elements.size() ? parseRoute(elements.get(j)) : null;
+            if (route != null) {
+                routeCache.put(routeKey(originLat, originLng, destination), route, routeCacheTtlSeconds * 1000);
+                results[index] = route.toResponse();
+            } else {
+                results[index] = haversineResponse(originLat, originLng, destination);
             }
+        }
+    }
 
-            @SuppressWarnings("unchecked")
-            java.util.List<Map<String, Object>> elements = (java.util.List<Map<String, Object>>) rows.get(0)
-                    .get("elements");
-            if (elements == null || elements.isEmpty()) {
-                throw new RuntimeException("No elements in Distance Matrix response");
-            }
+    /**
+     * @return the route, or null when the element has no usable distance
+     */
+    private static Route parseRoute(Map<String, Object> element) {
+        if (element.get("status") != null && !"OK".equals(element.get("status"))) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Object> distance = (Map<String, Object>) element.get("distance");
+        @SuppressWarnings("unchecked")
+        Map<String, Object> duration = (Map<String, Object>) element.get("duration");
+        if (distance == null || !(distance.get("value") instanceof Number meters)) {
+            return null;
+        }
+        Integer minutes = duration != null && duration.get("value") instanceof Number seconds
+                ? seconds.intValue() / 60 // Convert seconds to minutes
+                : null;
+        return new Route(meters.doubleValue() / 1000.0, minutes); // Convert meters to km
+    }
 
-            Map<String, Object> element = elements.get(0);
-            @SuppressWarnings("unchecked")
-            Map<String, Object> distance = (Map<String, Object>) element.get("distance");
-            @SuppressWarnings("unchecked")
-            Map<String, Object> duration = (Map<String, Object>) element.get("duration");
+    private DistanceResponse haversineResponse(BigDecimal originLat, BigDecimal originLng, Destination destination) {
+        double distance = calculateDistance(originLat, originLng, destination.latitude(), destination.longitude());
+        return DistanceResponse.builder()
+                .distance(distance)
+                .unit("km")
+                .estimated(true)
+                .build();
+    }
 
-            double distanceValue = ((Number) distance.get("value")).doubleValue() / 1000.0; // Convert meters to km
-            int durationValue = ((Number) duration.get("value")).intValue() / 60; // Convert seconds to minutes
+    /**
+     * Origin snapped to ~11 m so nearby users share cached routes
+     */
+    private static String routeKey(BigDecimal originLat, BigDecimal originLng, Destination destination) {
+        return originLat.setScale(4, RoundingMode.HALF_UP).toPlainString() + ","
+                + originLng.setScale(4, RoundingMode.HALF_UP).toPlainString() + ">"
+                + destination.latitude().toPlainString() + "," + destination.longitude().toPlainString();
+    }
 
-            return DistanceResponse.builder()
-                    .distance(distanceValue)
-                    .unit("km")
-                    .duration(durationValue)
-                    .durationUnit("minutes")
-                    .build();
+    public record Destination(BigDecimal latitude, BigDecimal longitude) {
+    }
 
-        } catch (Exception e) {
-            log.error("Error calculating distance matrix, falling back to Haversine formula", e);
-            double distance = calculateDistance(originLat, originLng, destLat, destLng);
+    private record Route(double distanceKm, Integer durationMinutes) {
+
+        DistanceResponse toResponse() {
             return DistanceResponse.builder()
-                    .distance(distance)
+                    .distance(distanceKm)
                     .unit("km")
+                    .duration(durationMinutes)
+                    .durationUnit("minutes")
                     .build();
         }
     }
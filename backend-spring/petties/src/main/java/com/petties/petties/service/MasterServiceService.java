@@ -1,5 +1,6 @@
 package com.petties.petties.service;
 
+import com.petties.petties.dto.common.VersionStamp;
 import com.petties.petties.dto.masterService.MasterServiceRequest;
 import com.petties.petties.dto.masterService.MasterServiceResponse;
 import com.petties.petties.dto.masterService.MasterServiceUpdateRequest;
@@ -9,6 +10,7 @@ import com.petties.petties.model.MasterService;
 import com.petties.petties.model.User;
 import com.petties.petties.model.enums.Role;
 import com.petties.petties.repository.MasterServiceRepository;
+import com.petties.petties.util.ResourceVersion;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -79,6 +81,18 @@ public class MasterServiceService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Version (ETag) of the master service list, without loading the services
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getAllMasterServicesVersion() {
+        validateClinicOwner();
+        VersionStamp services = masterServiceRepository.findVersion();
+        VersionStamp weightPrices = masterServiceRepository.findWeightPricesVersion();
+        return ResourceVersion.of("master-services", services.getRowCount(), services.getLastModified(),
+                weightPrices.getRowCount(), weightPrices.getLastModified());
+    }
+
     @Transactional(readOnly = true)
     public MasterServiceResponse getMasterServiceById(UUID masterServiceId) {
         validateClinicOwner();
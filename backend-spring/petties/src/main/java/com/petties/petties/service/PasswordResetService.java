@@ -13,7 +13,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Service xu ly reset password voi xac thuc OTP qua email.
@@ -36,6 +36,8 @@ public class PasswordResetService {
     private final OtpService otpService;
     private final EmailService emailService;
     private final OtpRedisService otpRedisService;
+    private final TokenVersionService tokenVersionService;
+    private final TransactionTemplate transactionTemplate;
 
     private static final int RESEND_COOLDOWN_SECONDS = 60;
     private static final int MAX_ATTEMPTS = 5;
@@ -90,8 +92,10 @@ public class PasswordResetService {
      * 3. Validate OTP (max attempts, dung/sai)
      * 4. Update password cua user
      * 5. Xoa password reset OTP tu Redis
+     *
+     * BCrypt runs before the transaction opens, so a queued hash never holds
+     * a pooled connection; only the password update is transactional.
      */
-    @Transactional
     public MessageResponse verifyOtpAndResetPassword(ResetPasswordRequest request) {
         String email = request.getEmail().toLowerCase().trim();
 
@@ -136,12 +140,21 @@ public class PasswordResetService {
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Không tìm thấy tài khoản với email này"));
 
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
-        userRepository.save(user);
+        String encodedPassword = passwordEncoder.encode(request.getNewPassword());
+        transactionTemplate.executeWithoutResult(status -> {
+            User current = userRepository.findById(user.getUserId())
+                    .orElseThrow(() -> new ResourceNotFoundException(
+                            "Không tìm thấy tài khoản với email này"));
+            current.setPassword(encodedPassword);
+            userRepository.save(current);
+        });
 
         // 6. Xoa password reset OTP tu Redis
         otpRedisService.deletePasswordResetOtp(email);
 
+        // 7. Thu hoi tat ca access token cu cua user (stateless principal khong doc DB)
+        tokenVersionService.revokeAll(user.getUserId());
+
         log.info("Password reset successfully for email={}", email);
 
         return MessageResponse.of("Đổi mật khẩu thành công");
@@ -0,0 +1,194 @@
+package com.petties.petties.service;
+
+import com.petties.petties.model.RefreshToken;
+import com.petties.petties.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Refresh token store.
+ *
+ * Two backends, selected by "jwt.refresh-token-store":
+ * - database (default): refresh_tokens table
+ * - redis: one key per token plus a per-user set, every write is a single
+ * Lua script so rotation is atomic and costs one round trip
+ *
+ * Key pattern (redis):
+ * - "auth:refresh:{tokenHash}" = userId, TTL = token expiresAt
+ * - "auth:refresh_user:{userId}" = set of tokenHash (for "log out everywhere")
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private static final String TOKEN_PREFIX = "auth:refresh:"; // key = auth:refresh:tokenHash
+    private static final String USER_SET_PREFIX = "auth:refresh_user:"; // key = auth:refresh_user:userId
+
+    /**
+     * KEYS[1] = user set, KEYS[2] = new token key
+     * ARGV[1] = userId, ARGV[2] = new hash, ARGV[3] = ttl millis,
+     * ARGV[4] = "1" to revoke the user's other tokens first, ARGV[5] = token key prefix
+     */
+    private static final RedisScript<Long> ISSUE_SCRIPT = new DefaultRedisScript<>("""
+            if ARGV[4] == '1' then
+                for _, hash in ipairs(redis.call('SMEMBERS', KEYS[1])) do
+                    redis.call('DEL', ARGV[5] .. hash)
+                end
+                redis.call('DEL', KEYS[1])
+            end
+            redis.call('SET', KEYS[2], ARGV[1], 'PX', ARGV[3])
+            redis.call('SADD', KEYS[1], ARGV[2])
+            redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            return 1
+            """, Long.class);
+
+    /**
+     * KEYS[1] = old token key, KEYS[2] = new token key, KEYS[3] = user set
+     * ARGV[1] = userId, ARGV[2] = old hash, ARGV[3] = new hash, ARGV[4] = ttl millis
+     * Returns 1 if rotated, 0 if the old token is unknown/expired/owned by someone else
+     */
+    private static final RedisScript<Long> ROTATE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) ~= ARGV[1] then
+                return 0
+            end
+            redis.call('DEL', KEYS[1])
+            redis.call('SREM', KEYS[3], ARGV[2])
+            redis.call('SET', KEYS[2], ARGV[1], 'PX', ARGV[4])
+            redis.call('SADD', KEYS[3], ARGV[3])
+            redis.call('PEXPIRE', KEYS[3], ARGV[4])
+            return 1
+            """, Long.class);
+
+    /**
+     * KEYS[1] = user set, ARGV[1] = token key prefix
+     * Returns number of tokens revoked
+     */
+    private static final RedisScript<Long> REVOKE_ALL_SCRIPT = new DefaultRedisScript<>("""
+            local hashes = redis.call('SMEMBERS', KEYS[1])
+            for _, hash in ipairs(hashes) do
+                redis.call('DEL', ARGV[1] .. hash)
+            end
+            redis.call('DEL', KEYS[1])
+            return #hashes
+            """, Long.class);
+
+    public enum RotationResult {
+        ROTATED, NOT_FOUND, EXPIRED
+    }
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Value("${jwt.refresh-token-store:database}")
+    private String store;
+
+    /**
+     * Store a new refresh token, keeping the user's other tokens
+     */
+    public void save(UUID userId, String tokenHash, LocalDateTime expiresAt) {
+        if (useRedis()) {
+            issueInRedis(userId, tokenHash, expiresAt, false);
+            return;
+        }
+        saveInDatabase(userId, tokenHash, expiresAt);
+    }
+
+    /**
+     * Revoke every refresh token of the user and store the new one (login)
+     */
+    public void replaceAll(UUID userId, String tokenHash, LocalDateTime expiresAt) {
+        if (useRedis()) {
+            issueInRedis(userId, tokenHash, expiresAt, true);
+            return;
+        }
+        refreshTokenRepository.deleteAllByUserId(userId);
+        saveInDatabase(userId, tokenHash, expiresAt);
+    }
+
+    /**
+     * Swap a presented refresh token for a new one. The old token can only be
+     * used once, so two concurrent refreshes with the same token cannot both
+     * win: the redis store runs check + delete + insert as one script, the
+     * database store issues the new token only if its conditional DELETE
+     * removed the old row.
+     */
+    public RotationResult rotate(UUID userId, String oldTokenHash, String newTokenHash, LocalDateTime newExpiresAt) {
+        if (useRedis()) {
+            Long rotated = stringRedisTemplate.execute(ROTATE_SCRIPT,
+                    List.of(tokenKey(oldTokenHash), tokenKey(newTokenHash), userSetKey(userId)),
+                    userId.toString(), oldTokenHash, newTokenHash, String.valueOf(ttlMillis(newExpiresAt)));
+            // Expired keys are evicted by Redis TTL, so expired and unknown look the same
+            return rotated != null && rotated == 1L ? RotationResult.ROTATED : RotationResult.NOT_FOUND;
+        }
+
+        Optional<RefreshToken> storedToken = refreshTokenRepository.findByTokenHash(oldTokenHash);
+        if (storedToken.isEmpty() || !storedToken.get().getUserId().equals(userId)) {
+            return RotationResult.NOT_FOUND;
+        }
+        // Only the refresh whose delete removed the row may issue a new token
+        if (refreshTokenRepository.deleteByTokenHashAndUserId(oldTokenHash, userId) != 1) {
+            return RotationResult.NOT_FOUND;
+        }
+        if (storedToken.get().isExpired()) {
+            return RotationResult.EXPIRED;
+        }
+        saveInDatabase(userId, newTokenHash, newExpiresAt);
+        return RotationResult.ROTATED;
+    }
+
+    /**
+     * Log out everywhere: revoke all refresh tokens of the user
+     */
+    public void revokeAll(UUID userId) {
+        if (useRedis()) {
+            Long revoked = stringRedisTemplate.execute(REVOKE_ALL_SCRIPT, List.of(userSetKey(userId)), TOKEN_PREFIX);
+            log.debug("Revoked {} refresh tokens for userId={}", revoked, userId);
+            return;
+        }
+        refreshTokenRepository.deleteAllByUserId(userId);
+    }
+
+    private void issueInRedis(UUID userId, String tokenHash, LocalDateTime expiresAt, boolean revokeOthers) {
+        stringRedisTemplate.execute(ISSUE_SCRIPT,
+                List.of(userSetKey(userId), tokenKey(tokenHash)),
+                userId.toString(), tokenHash, String.valueOf(ttlMillis(expiresAt)),
+                revokeOthers ? "1" : "0", TOKEN_PREFIX);
+    }
+
+    private void saveInDatabase(UUID userId, String tokenHash, LocalDateTime expiresAt) {
+        RefreshToken token = new RefreshToken();
+        token.setUserId(userId);
+        token.setTokenHash(tokenHash);
+        token.setExpiresAt(expiresAt);
+        refreshTokenRepository.save(token);
+    }
+
+    private boolean useRedis() {
+        return "redis".equalsIgnoreCase(store);
+    }
+
+    private static long ttlMillis(LocalDateTime expiresAt) {
+        // PX must be positive; a token that is already expired lives for 1ms
+        return Math.max(1L, Duration.between(LocalDateTime.now(), expiresAt).toMillis());
+    }
+
+    private static String tokenKey(String tokenHash) {
+        return TOKEN_PREFIX + tokenHash;
+    }
+
+    private static String userSetKey(UUID userId) {
+        return USER_SET_PREFIX + userId;
+    }
+}
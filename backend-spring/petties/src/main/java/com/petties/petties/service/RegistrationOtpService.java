@@ -9,10 +9,8 @@ import com.petties.petties.dto.otp.PendingRegistrationData;
 import com.petties.petties.exception.BadRequestException;
 import com.petties.petties.exception.ResourceAlreadyExistsException;
 import com.petties.petties.exception.ResourceNotFoundException;
-import com.petties.petties.model.RefreshToken;
 import com.petties.petties.model.User;
 import com.petties.petties.model.enums.Role;
-import com.petties.petties.repository.RefreshTokenRepository;
 import com.petties.petties.repository.UserRepository;
 import com.petties.petties.util.TokenUtil;
 import lombok.RequiredArgsConstructor;
@@ -45,7 +43,7 @@ public class RegistrationOtpService {
     private final OtpService otpService;
     private final EmailService emailService;
     private final JwtTokenProvider tokenProvider;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenService refreshTokenService;
     private final OtpRedisService otpRedisService;
 
     private static final int RESEND_COOLDOWN_SECONDS = 60;
@@ -256,15 +254,9 @@ public class RegistrationOtpService {
     }
 
     private void saveRefreshToken(UUID userId, String refreshToken) {
-        String tokenHash = TokenUtil.hashToken(refreshToken);
         LocalDateTime expiresAt = LocalDateTime.ofInstant(
                 tokenProvider.getExpirationDateFromToken(refreshToken).toInstant(),
                 java.time.ZoneId.systemDefault());
-
-        RefreshToken token = new RefreshToken();
-        token.setUserId(userId);
-        token.setTokenHash(tokenHash);
-        token.setExpiresAt(expiresAt);
-        refreshTokenRepository.save(token);
+        refreshTokenService.save(userId, TokenUtil.hashToken(refreshToken), expiresAt);
     }
 }
@@ -0,0 +1,242 @@
+package com.petties.petties.service;
+
+import com.petties.petties.model.BlacklistedToken;
+import com.petties.petties.repository.BlacklistedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revocation store for blacklisted (logged out) access tokens.
+ *
+ * Lookup path:
+ * 1. Local set of 64-bit SHA-256 prefixes answers the common "not revoked"
+ * case without any network call
+ * 2. On a prefix hit, Redis (source of truth) confirms the full hash
+ *
+ * Write path (logout): Postgres audit row -> Redis key with TTL = token
+ * expiresAt -> pub/sub event so every node adds the prefix locally. Redis
+ * failures do not fail the logout: the prefix is added locally and the
+ * database row reaches Redis and the other nodes with the next reconcile.
+ *
+ * Pub/sub can drop events (subscriber reconnect, failover), so the local set
+ * is reconciled from the database and a SCAN of Redis on startup, every
+ * reconcile-ms and whenever the channel is (re)subscribed.
+ *
+ * Key pattern: "auth:blacklist:{tokenHash}"
+ * Channel: "auth:blacklist:events" (payload = "{tokenHash}:{expiresAtMillis}")
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenBlacklistService implements MessageListener, SubscriptionListener {
+
+    private static final String BLACKLIST_PREFIX = "auth:blacklist:"; // key = auth:blacklist:tokenHash
+    private static final String BLACKLIST_CHANNEL = "auth:blacklist:events";
+    private static final int SWEEP_THRESHOLD = 10_000; // sweep expired prefixes when set grows past this
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final BlacklistedTokenRepository blacklistedTokenRepository;
+
+    // prefix -> expiresAt (epoch millis)
+    private final Map<Long, Long> localPrefixes = new ConcurrentHashMap<>();
+    private volatile boolean warmedUp;
+
+    @PostConstruct
+    void subscribe() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(BLACKLIST_CHANNEL));
+    }
+
+    /**
+     * Load currently revoked tokens so a fresh node does not miss revocations
+     * published before it started: unexpired blacklisted_tokens rows (also
+     * copied to Redis when missing, they may predate the Redis blacklist),
+     * then every Redis key.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        int loaded = reload();
+        warmedUp = true;
+        log.info("Token blacklist warmed up with {} entries", loaded);
+    }
+
+    /**
+     * Same as the warm-up, to pick up events this node did not receive
+     */
+    @Scheduled(fixedDelayString = "${token-blacklist.reconcile-ms:60000}",
+            initialDelayString = "${token-blacklist.reconcile-ms:60000}")
+    public void reconcile() {
+        log.debug("Token blacklist reconciled with {} entries", reload());
+    }
+
+    /**
+     * Events published while the subscription was down are lost; reconcile
+     * off the subscriber thread once it is back
+     */
+    @Override
+    public void onChannelSubscribed(byte[] channel, long count) {
+        if (warmedUp) {
+            CompletableFuture.runAsync(this::reconcile);
+        }
+    }
+
+    private int reload() {
+        backfillFromDatabase();
+
+        ScanOptions options = ScanOptions.scanOptions().match(BLACKLIST_PREFIX + "*").count(500).build();
+        int loaded = 0;
+        try (Cursor<String> cursor = stringRedisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                String key = cursor.next();
+                Long ttlMillis = stringRedisTemplate.getExpire(key, TimeUnit.MILLISECONDS);
+                if (ttlMillis != null && ttlMillis > 0) {
+                    addLocal(key.substring(BLACKLIST_PREFIX.length()), System.currentTimeMillis() + ttlMillis);
+                    loaded++;
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Could not load token blacklist from Redis", e);
+        }
+        return loaded;
+    }
+
+    private void backfillFromDatabase() {
+        List<BlacklistedToken> tokens;
+        try {
+            tokens = blacklistedTokenRepository.findByExpiresAtAfter(LocalDateTime.now());
+        } catch (Exception e) {
+            log.warn("Could not load blacklisted tokens from database", e);
+            return;
+        }
+        // Local first: with Redis down a local hit is treated as revoked
+        tokens.forEach(token -> addLocal(token.getTokenHash(), epochMillis(token.getExpiresAt())));
+        try {
+            long now = System.currentTimeMillis();
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                for (BlacklistedToken token : tokens) {
+                    long ttlMillis = epochMillis(token.getExpiresAt()) - now;
+                    if (ttlMillis > 0) {
+                        redis.set(BLACKLIST_PREFIX + token.getTokenHash(), token.getUserId().toString(),
+                                Expiration.milliseconds(ttlMillis), RedisStringCommands.SetOption.ifAbsent());
+                    }
+                }
+                return null;
+            });
+            log.debug("Token blacklist backfilled {} entries from database", tokens.size());
+        } catch (Exception e) {
+            log.warn("Could not backfill token blacklist into Redis", e);
+        }
+    }
+
+    /**
+     * Check if token hash is revoked
+     */
+    public boolean isBlacklisted(String tokenHash) {
+        long prefix = prefixOf(tokenHash);
+        Long expiresAt = localPrefixes.get(prefix);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt < System.currentTimeMillis()) {
+            localPrefixes.remove(prefix, expiresAt);
+            return false;
+        }
+
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.hasKey(BLACKLIST_PREFIX + tokenHash));
+        } catch (Exception e) {
+            // Redis unavailable: fail closed on a local hit
+            log.warn("Could not confirm blacklisted token in Redis, treating as revoked", e);
+            return true;
+        }
+    }
+
+    /**
+     * Revoke token until its expiration
+     */
+    public void blacklist(String tokenHash, UUID userId, LocalDateTime expiresAt) {
+        // Audit trail
+        BlacklistedToken blacklistedToken = new BlacklistedToken();
+        blacklistedToken.setTokenHash(tokenHash);
+        blacklistedToken.setUserId(userId);
+        blacklistedToken.setExpiresAt(expiresAt);
+        blacklistedTokenRepository.save(blacklistedToken);
+
+        long expiresAtMillis = epochMillis(expiresAt);
+        long ttlMillis = expiresAtMillis - System.currentTimeMillis();
+        if (ttlMillis <= 0) {
+            return;
+        }
+
+        addLocal(tokenHash, expiresAtMillis);
+        try {
+            stringRedisTemplate.opsForValue().set(BLACKLIST_PREFIX + tokenHash, userId.toString(),
+                    Duration.ofMillis(ttlMillis));
+            stringRedisTemplate.convertAndSend(BLACKLIST_CHANNEL, tokenHash + ":" + expiresAtMillis);
+        } catch (Exception e) {
+            // The audit row is saved; the reconcile copies it to Redis and the other nodes
+            log.warn("Could not publish blacklisted token to Redis, revoked on this node only for now", e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = payload.lastIndexOf(':');
+        if (separator <= 0) {
+            log.warn("Ignoring malformed blacklist event: {}", payload);
+            return;
+        }
+        try {
+            addLocal(payload.substring(0, separator), Long.parseLong(payload.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed blacklist event: {}", payload);
+        }
+    }
+
+    private void addLocal(String tokenHash, long expiresAtMillis) {
+        // Keep the latest expiry if two tokens share a prefix
+        localPrefixes.merge(prefixOf(tokenHash), expiresAtMillis, Math::max);
+        if (localPrefixes.size() > SWEEP_THRESHOLD) {
+            long now = System.currentTimeMillis();
+            localPrefixes.values().removeIf(expiry -> expiry < now);
+        }
+    }
+
+    private static long epochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static long prefixOf(String tokenHash) {
+        return Long.parseUnsignedLong(tokenHash.substring(0, 16), 16);
+    }
+}
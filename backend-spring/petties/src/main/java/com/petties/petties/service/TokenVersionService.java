@@ -0,0 +1,85 @@
+package com.petties.petties.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Per-user token version stored in Redis.
+ *
+ * Every access token carries the user's version at issue time ("ver" claim).
+ * Bumping the version revokes every access token issued before the bump,
+ * which lets JwtAuthenticationFilter build the principal straight from the
+ * token claims without loading the user from Postgres on each request.
+ *
+ * The version is the Redis clock (epoch millis) of the last bump, raised by at
+ * least 1 over the previous value, so it only ever grows - also across key
+ * expiry: a token issued at version N is rejected by any later bump.
+ *
+ * Key pattern: "auth:token_version:{userId}"
+ * TTL: access token lifetime from the bump - once it passes, every token
+ * issued before the bump has expired, and tokens issued after it carry a
+ * version lower than any future bump.
+ *
+ * Call {@link #revokeAll(UUID)} whenever a change must take effect before the
+ * user's current access tokens expire (role change, soft delete, password
+ * reset).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenVersionService {
+
+    private static final String TOKEN_VERSION_PREFIX = "auth:token_version:"; // key = auth:token_version:userId
+
+    /**
+     * KEYS[1] = version key, ARGV[1] = ttl millis
+     * Returns the new version: max(Redis time in millis, previous version + 1)
+     */
+    private static final RedisScript<Long> BUMP_SCRIPT = new DefaultRedisScript<>("""
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local version = math.max(now, tonumber(redis.call('GET', KEYS[1]) or '0') + 1)
+            redis.call('SET', KEYS[1], version, 'PX', ARGV[1])
+            return version
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Value("${jwt.expiration}")
+    private Long jwtExpiration;
+
+    /**
+     * Get current token version of user (0 if never bumped)
+     */
+    public long getVersion(UUID userId) {
+        String value = stringRedisTemplate.opsForValue().get(TOKEN_VERSION_PREFIX + userId);
+        return value != null ? Long.parseLong(value) : 0L;
+    }
+
+    /**
+     * Check if a token issued with the given version is still valid
+     */
+    public boolean isCurrent(UUID userId, long tokenVersion) {
+        return tokenVersion >= getVersion(userId);
+    }
+
+    /**
+     * Revoke all access tokens issued to user so far
+     *
+     * @return the new version
+     */
+    public long revokeAll(UUID userId) {
+        Long version = stringRedisTemplate.execute(BUMP_SCRIPT, List.of(TOKEN_VERSION_PREFIX + userId),
+                String.valueOf(jwtExpiration));
+        log.info("Token version bumped for userId={} to {}", userId, version);
+        return version != null ? version : 0L;
+    }
+}
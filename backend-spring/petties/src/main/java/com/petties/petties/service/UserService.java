@@ -12,6 +12,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.UUID;
@@ -23,6 +24,8 @@ public class UserService {
         private final UserRepository userRepository;
         private final CloudinaryService cloudinaryService;
         private final PasswordEncoder passwordEncoder;
+        private final ClinicService clinicService;
+        private final TransactionTemplate transactionTemplate;
 
         @Transactional(readOnly = true)
         public UserResponse getUserById(UUID userId) {
@@ -53,6 +56,9 @@ public class UserService {
                 }
 
                 user = userRepository.save(user);
+                if (request.getFullName() != null) {
+                        clinicService.invalidateOwnerClinics(userId);
+                }
 
                 return mapToResponse(user);
         }
@@ -98,7 +104,10 @@ public class UserService {
                 return mapToResponse(user);
         }
 
-        @Transactional
+        /**
+         * BCrypt (check and hash) runs before the transaction opens, so a
+         * queued hash never holds a pooled connection
+         */
         public void changePassword(UUID userId, ChangePasswordRequest request) {
                 User user = userRepository.findById(userId)
                                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
@@ -111,8 +120,18 @@ public class UserService {
                         throw new BadRequestException("Mật khẩu xác nhận không khớp");
                 }
 
-                user.setPassword(passwordEncoder.encode(request.getNewPassword()));
-                userRepository.save(user);
+                String encodedPassword = passwordEncoder.encode(request.getNewPassword());
+                String checkedPassword = user.getPassword();
+                transactionTemplate.executeWithoutResult(status -> {
+                        User current = userRepository.findById(userId)
+                                        .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+                        // Changed meanwhile: the checked password is no longer the current one
+                        if (!checkedPassword.equals(current.getPassword())) {
+                                throw new BadRequestException("Mật khẩu hiện tại không chính xác");
+                        }
+                        current.setPassword(encodedPassword);
+                        userRepository.save(current);
+                });
         }
 
         private UserResponse mapToResponse(User user) {
@@ -0,0 +1,43 @@
+package com.petties.petties.util;
+
+/**
+ * Latitude/longitude rectangle that fully contains a circle of the given
+ * radius. Used as a cheap, index-friendly prefilter before the exact
+ * Haversine distance is computed.
+ */
+public record GeoBoundingBox(double minLat, double maxLat, double minLng, double maxLng) {
+
+    public static final double EARTH_RADIUS_KM = 6371;
+
+    private static final double KM_PER_DEGREE_LAT = Math.PI * EARTH_RADIUS_KM / 180; // ~111.19 km
+
+    /**
+     * Box around (lat, lng) covering every point within radiusKm
+     */
+    public static GeoBoundingBox around(double lat, double lng, double radiusKm) {
+        double deltaLat = radiusKm / KM_PER_DEGREE_LAT;
+        double minLat = lat - deltaLat;
+        double maxLat = lat + deltaLat;
+
+        // Box touches a pole: every longitude is reachable
+        if (minLat <= -90 || maxLat >= 90) {
+            return new GeoBoundingBox(Math.max(minLat, -90), Math.min(maxLat, 90), -180, 180);
+        }
+
+        // Use the latitude farthest from the equator, where a degree of longitude is shortest
+        double widestLat = Math.max(Math.abs(minLat), Math.abs(maxLat));
+        double deltaLng = radiusKm / (KM_PER_DEGREE_LAT * Math.cos(Math.toRadians(widestLat)));
+        double minLng = lng - deltaLng;
+        double maxLng = lng + deltaLng;
+
+        // Crosses the antimeridian: fall back to the full longitude range
+        if (minLng < -180 || maxLng > 180) {
+            return new GeoBoundingBox(minLat, maxLat, -180, 180);
+        }
+        return new GeoBoundingBox(minLat, maxLat, minLng, maxLng);
+    }
+
+    public boolean contains(double lat, double lng) {
+        return lat >= minLat && lat <= maxLat && lng >= minLng && lng <= maxLng;
+    }
+}
@@ -0,0 +1,70 @@
+package com.petties.petties.util;
+
+/**
+ * Haversine great-circle distances on plain doubles.
+ *
+ * The batch form works on parallel arrays of latitudes/longitudes in radians
+ * with cos(latitude) precomputed, so ranking many candidates against one
+ * origin costs two sin() per point and no allocation. Candidates are compared
+ * on the haversine term "a" (monotonic in distance); asin/sqrt are only paid
+ * for the points that make the cut.
+ */
+public final class Haversine {
+
+    private Haversine() {
+    }
+
+    /**
+     * Distance in km between two points given in degrees
+     */
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double lat1Rad = Math.toRadians(lat1);
+        double lat2Rad = Math.toRadians(lat2);
+        return toKm(a(lat1Rad, Math.toRadians(lng1), Math.cos(lat1Rad),
+                lat2Rad, Math.toRadians(lng2), Math.cos(lat2Rad)));
+    }
+
+    /**
+     * Haversine term for two points in radians with their cos(lat)
+     */
+    public static double a(double lat1, double lng1, double cosLat1, double lat2, double lng2, double cosLat2) {
+        double sinDLat = Math.sin((lat2 - lat1) / 2);
+        double sinDLng = Math.sin((lng2 - lng1) / 2);
+        return sinDLat * sinDLat + cosLat1 * cosLat2 * sinDLng * sinDLng;
+    }
+
+    /**
+     * Largest haversine term still within radiusKm
+     */
+    public static double maxA(double radiusKm) {
+        double halfAngle = Math.min(Math.PI / 2, radiusKm / (2 * GeoBoundingBox.EARTH_RADIUS_KM));
+        double sin = Math.sin(halfAngle);
+        return sin * sin;
+    }
+
+    public static double toKm(double a) {
+        return 2 * GeoBoundingBox.EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * Indexes of the first n points within radiusKm of the origin, written to
+     * outIndexes with their distances in outKm
+     *
+     * @param latRad origin latitude in radians (cosLat = its cosine)
+     * @return number of matches written
+     */
+    public static int within(double latRad, double lngRad, double cosLat, double radiusKm,
+            double[] latsRad, double[] lngsRad, double[] cosLats, int n, int[] outIndexes, double[] outKm) {
+        double maxA = maxA(radiusKm);
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            double a = a(latRad, lngRad, cosLat, latsRad[i], lngsRad[i], cosLats[i]);
+            if (a <= maxA) {
+                outIndexes[count] = i;
+                outKm[count] = toKm(a);
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,126 @@
+package com.petties.petties.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Entries of a node-local index, kept in step with the database by
+ * after-commit changes and periodic full reloads.
+ *
+ * A reload reads its snapshot outside the lock, so a change committed while
+ * it runs would be lost when the older snapshot is swapped in. Changes made
+ * during a reload are journaled and replayed onto the snapshot before the
+ * swap.
+ *
+ * Reads never lock. Changes and swaps are serialized; an optional
+ * {@link Listener} keeps a structure derived from the entries (grid, sorted
+ * keys) in step under the same lock.
+ */
+public class JournaledIndexMap<K, V> {
+
+    public interface Listener<K, V> {
+
+        /**
+         * One entry changed; oldValue/newValue is null when absent
+         */
+        void changed(K key, V oldValue, V newValue);
+
+        /**
+         * All entries were replaced by a reload
+         */
+        void reloaded(Map<K, V> entries);
+    }
+
+    private record Change<K, V>(K key, V value) {
+    }
+
+    private final Map<K, V> entries = new ConcurrentHashMap<>();
+    private final Listener<K, V> listener;
+    private volatile boolean loaded;
+    private List<Change<K, V>> reloadJournal; // changes made while a reload is in progress
+
+    public JournaledIndexMap() {
+        this(null);
+    }
+
+    public JournaledIndexMap(Listener<K, V> listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Whether a reload has completed
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public V get(K key) {
+        return entries.get(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Put the entry once the current transaction commits
+     */
+    public void putAfterCommit(K key, V value) {
+        TransactionUtils.afterCommit(() -> apply(key, value));
+    }
+
+    /**
+     * Remove the entry once the current transaction commits
+     */
+    public void removeAfterCommit(K key) {
+        TransactionUtils.afterCommit(() -> apply(key, null));
+    }
+
+    private synchronized void apply(K key, V value) {
+        V old = value != null ? entries.put(key, value) : entries.remove(key);
+        if (listener != null) {
+            listener.changed(key, old, value);
+        }
+        if (reloadJournal != null) {
+            reloadJournal.add(new Change<>(key, value));
+        }
+    }
+
+    /**
+     * Replace the entries with a fresh snapshot, keeping the changes made
+     * while it was read. When the loader throws, the current entries stay.
+     *
+     * @param loader reads the snapshot into a new mutable map
+     */
+    public void reload(Supplier<Map<K, V>> loader) {
+        synchronized (this) {
+            reloadJournal = new ArrayList<>();
+        }
+        try {
+            Map<K, V> fresh = loader.get();
+            synchronized (this) {
+                for (Change<K, V> change : reloadJournal) {
+                    if (change.value() != null) {
+                        fresh.put(change.key(), change.value());
+                    } else {
+                        fresh.remove(change.key());
+                    }
+                }
+                entries.keySet().retainAll(fresh.keySet());
+                entries.putAll(fresh);
+                if (listener != null) {
+                    listener.reloaded(Collections.unmodifiableMap(entries));
+                }
+                loaded = true;
+            }
+        } finally {
+            synchronized (this) {
+                reloadJournal = null;
+            }
+        }
+    }
+}
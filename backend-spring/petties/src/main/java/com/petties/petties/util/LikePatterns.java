@@ -0,0 +1,26 @@
+package com.petties.petties.util;
+
+/**
+ * User text inside a SQL LIKE pattern.
+ */
+public final class LikePatterns {
+
+    private LikePatterns() {
+    }
+
+    /**
+     * Escape the LIKE wildcards % and _ and the escape character itself with
+     * a backslash (pair with ESCAPE '\'), so "50%" only matches "50%"
+     */
+    public static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '%' || c == '_' || c == '\\') {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,44 @@
+package com.petties.petties.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+
+/**
+ * Validators for a conditional GET, computed from a cheap version lookup
+ * (updatedAt columns, row counts) instead of the full response.
+ *
+ * @param etag         strong entity tag, quoted
+ * @param lastModified newest timestamp among the parts in epoch millis, or
+ *                     -1 when there is none
+ */
+public record ResourceVersion(String etag, long lastModified) {
+
+    /**
+     * @param kind  keeps tags of different resources apart
+     * @param parts values that change whenever the representation changes;
+     *              LocalDateTime parts also give Last-Modified
+     */
+    public static ResourceVersion of(String kind, Object... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(kind.getBytes(StandardCharsets.UTF_8));
+            long lastModified = -1;
+            for (Object part : parts) {
+                digest.update((byte) 0);
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                if (part instanceof LocalDateTime time) {
+                    lastModified = Math.max(lastModified,
+                            time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+                }
+            }
+            return new ResourceVersion("\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"",
+                    lastModified);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
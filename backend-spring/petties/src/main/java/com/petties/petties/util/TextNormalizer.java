@@ -0,0 +1,36 @@
+package com.petties.petties.util;
+
+import java.text.Normalizer;
+import java.util.regex.Pattern;
+
+/**
+ * Accent- and case-insensitive forms of Vietnamese text for lookup keys.
+ */
+public final class TextNormalizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Lowercase and strip diacritics (đ -> d), keeping punctuation:
+     * "Q. Hải Châu" -> "q. hai chau"
+     */
+    public static String stripDiacritics(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text.toLowerCase(), Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").replace('đ', 'd');
+    }
+
+    /**
+     * {@link #stripDiacritics} plus punctuation/whitespace collapsed to single
+     * spaces: "Thú Y Đà Nẵng" -> "thu y da nang"
+     */
+    public static String fold(String text) {
+        return NON_ALPHANUMERIC.matcher(stripDiacritics(text)).replaceAll(" ").trim();
+    }
+}
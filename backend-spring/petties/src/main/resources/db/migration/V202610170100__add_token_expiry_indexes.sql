@@ -0,0 +1,5 @@
+-- Indexes for the scheduled purge of expired tokens (TokenPurgeJob)
+-- Created at: 2026-10-17 01:00
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
+
+CREATE INDEX IF NOT EXISTS idx_blacklisted_tokens_expires_at ON blacklisted_tokens (expires_at);
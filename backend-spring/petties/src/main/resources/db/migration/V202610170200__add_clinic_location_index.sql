@@ -0,0 +1,6 @@
+-- Index for nearby clinic search (bounding-box prefilter on latitude/longitude)
+-- Partial: only approved, not deleted clinics are ever searched by location
+-- Created at: 2026-10-17 02:00
+CREATE INDEX IF NOT EXISTS idx_clinics_approved_location
+    ON clinics (latitude, longitude)
+    WHERE status = 'APPROVED' AND deleted_at IS NULL;
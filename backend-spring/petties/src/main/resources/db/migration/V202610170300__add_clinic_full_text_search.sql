@@ -0,0 +1,25 @@
+-- Accent-insensitive clinic search: unaccent + pg_trgm + tsvector
+-- "thu y" matches "Thú Y"; LIKE '%x%' on name can use the trigram index
+-- Created at: 2026-10-17 03:00
+CREATE EXTENSION IF NOT EXISTS unaccent;
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- unaccent() is only STABLE (dictionary can change), indexes need IMMUTABLE
+CREATE OR REPLACE FUNCTION immutable_unaccent(text)
+    RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+AS $$ SELECT public.unaccent('public.unaccent'::regdictionary, $1) $$;
+
+-- Weighted document: name (A) > district/province (B) > address (C)
+ALTER TABLE clinics ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', immutable_unaccent(lower(coalesce(name, '')))), 'A') ||
+        setweight(to_tsvector('simple', immutable_unaccent(lower(coalesce(district, '') || ' ' || coalesce(province, '')))), 'B') ||
+        setweight(to_tsvector('simple', immutable_unaccent(lower(coalesce(address, '')))), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_clinics_search_vector
+    ON clinics USING GIN (search_vector);
+
+CREATE INDEX IF NOT EXISTS idx_clinics_name_trgm
+    ON clinics USING GIN (immutable_unaccent(lower(name)) gin_trgm_ops);
@@ -0,0 +1,5 @@
+-- operating_hours compiled to 7 x 48 half-hour slots (42 bytes, see OpenHoursBitmap)
+-- "Open at T" is then a single get_bit(open_hours_bitmap, slot) per row.
+-- Existing rows are filled by the application on startup (ClinicOpenHoursIndex).
+-- Created at: 2026-10-17 04:00
+ALTER TABLE clinics ADD COLUMN IF NOT EXISTS open_hours_bitmap BYTEA;
@@ -0,0 +1,11 @@
+-- Keyset pagination of the clinic lists (ClinicListCursor): (created_at, clinic_id)
+-- order, per status for the admin pending queue and status filter.
+-- Scanned backwards for ascending lists.
+-- Created at: 2026-10-17 05:00
+CREATE INDEX IF NOT EXISTS idx_clinics_status_created
+    ON clinics (status, created_at DESC, clinic_id DESC)
+    WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_clinics_created
+    ON clinics (created_at DESC, clinic_id DESC)
+    WHERE deleted_at IS NULL;
@@ -0,0 +1,154 @@
+package com.petties.petties.config;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fault-injection tests for the outbound HTTP client against a local stub
+ * server (JDK HttpServer): slow responses, 5xx and saturation.
+ */
+@DisplayName("OutboundHttpGuard Unit Tests")
+class OutboundHttpGuardTest {
+
+    private HttpServer stub;
+    private String baseUrl;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.setExecutor(Executors.newCachedThreadPool());
+        stub.createContext("/ok", exchange -> respond(exchange, 200));
+        stub.createContext("/error", exchange -> respond(exchange, 503));
+        stub.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200);
+        });
+        stub.createContext("/hold", exchange -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200);
+        });
+        stub.start();
+        baseUrl = "http://127.0.0.1:" + stub.getAddress().getPort();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        stub.stop(0);
+    }
+
+    private void respond(com.sun.net.httpserver.HttpExchange exchange, int status) throws IOException {
+        hits.incrementAndGet();
+        byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+
+    private RestTemplate client(OutboundHttpGuard guard, long readTimeoutMs) {
+        return OutboundHttpConfig.build(new RestTemplateBuilder(), 500, readTimeoutMs, guard);
+    }
+
+    private OutboundHttpGuard guard(int maxConcurrent, int failureThreshold, long openMs) {
+        return new OutboundHttpGuard("test", maxConcurrent, Duration.ofMillis(50), failureThreshold,
+                Duration.ofMillis(openMs), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-OUTBOUND-001: read timeout bounds a slow response")
+    void slowResponse_readTimeout() {
+        RestTemplate restTemplate = client(guard(10, 5, 30_000), 200);
+
+        long start = System.nanoTime();
+        assertThrows(ResourceAccessException.class, () -> restTemplate.getForObject(baseUrl + "/slow", String.class));
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 900);
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-OUTBOUND-002: circuit opens after repeated 5xx and fails fast")
+    void repeatedServerErrors_circuitOpens() {
+        OutboundHttpGuard guard = guard(10, 3, 30_000);
+        RestTemplate restTemplate = client(guard, 1000);
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(RestClientException.class, () -> restTemplate.getForObject(baseUrl + "/error", String.class));
+        }
+        assertEquals(OutboundHttpGuard.State.OPEN, guard.state());
+
+        ResourceAccessException rejected = assertThrows(ResourceAccessException.class,
+                () -> restTemplate.getForObject(baseUrl + "/ok", String.class));
+        assertInstanceOf(OutboundHttpGuard.RejectedException.class, rejected.getCause());
+        assertEquals(3, hits.get()); // the rejected call never reached the stub
+        assertEquals(1, meterRegistry.get("petties.http.client.rejected").tag("reason", "circuit-open")
+                .counter().count());
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-OUTBOUND-003: half-open trial success closes the circuit")
+    void openCircuit_trialSucceeds_closes() throws Exception {
+        OutboundHttpGuard guard = guard(10, 1, 100);
+        RestTemplate restTemplate = client(guard, 1000);
+
+        assertThrows(RestClientException.class, () -> restTemplate.getForObject(baseUrl + "/error", String.class));
+        assertEquals(OutboundHttpGuard.State.OPEN, guard.state());
+
+        Thread.sleep(150);
+        assertEquals("{}", restTemplate.getForObject(baseUrl + "/ok", String.class));
+        assertEquals(OutboundHttpGuard.State.CLOSED, guard.state());
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-OUTBOUND-004: bulkhead rejects calls beyond the concurrency limit")
+    void saturatedBulkhead_rejectsFast() throws Exception {
+        RestTemplate restTemplate = client(guard(1, 5, 30_000), 5000);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> held = executor.submit(() -> restTemplate.getForObject(baseUrl + "/hold", String.class));
+            while (hits.get() == 0 && meterRegistry.get("petties.http.client.in-flight").gauge().value() == 0) {
+                Thread.sleep(10);
+            }
+
+            ResourceAccessException rejected = assertThrows(ResourceAccessException.class,
+                    () -> restTemplate.getForObject(baseUrl + "/ok", String.class));
+            assertInstanceOf(OutboundHttpGuard.RejectedException.class, rejected.getCause());
+
+            release.countDown();
+            assertEquals("{}", held.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
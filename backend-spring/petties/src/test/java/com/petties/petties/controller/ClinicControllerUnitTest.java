@@ -1,8 +1,12 @@
 package com.petties.petties.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petties.petties.dto.clinic.ClinicListCursor;
+import com.petties.petties.dto.clinic.ClinicLocationResponse;
 import com.petties.petties.dto.clinic.ClinicRequest;
 import com.petties.petties.dto.clinic.ClinicResponse;
+import com.petties.petties.dto.clinic.ClinicSuggestionResponse;
+import com.petties.petties.dto.clinic.NearbyCursor;
 import com.petties.petties.dto.file.UploadResponse;
 import com.petties.petties.exception.BadRequestException;
 import com.petties.petties.exception.ForbiddenException;
@@ -14,8 +18,11 @@ import com.petties.petties.config.JwtTokenProvider;
 import com.petties.petties.config.UserDetailsServiceImpl;
 import com.petties.petties.repository.BlacklistedTokenRepository;
 import com.petties.petties.service.AuthService;
+import com.petties.petties.service.ClinicDetailCache;
+import com.petties.petties.service.ClinicLocationCatalog;
 import com.petties.petties.service.ClinicService;
 import com.petties.petties.service.CloudinaryService;
+import com.petties.petties.util.ResourceVersion;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,12 +30,18 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -120,7 +133,7 @@ class ClinicControllerUnitTest {
         @DisplayName("TC-UNIT-CLINIC-002: Success - empty result")
         void getAllClinics_emptyResult_returns200() throws Exception {
                 Page<ClinicResponse> emptyPage = new PageImpl<>(List.of());
-                when(clinicService.getAllClinics(any(), any(), any())).thenReturn(emptyPage);
+                when(clinicService.getFirstClinicsPage(null, Sort.Direction.DESC, 20)).thenReturn(emptyPage);
 
                 mockMvc.perform(get("/clinics"))
                                 .andExpect(status().isOk())
@@ -132,7 +145,8 @@ class ClinicControllerUnitTest {
         void getAllClinics_withStatusFilter_returns200() throws Exception {
                 Page<ClinicResponse> page = new PageImpl<>(List.of(
                                 mockClinic(UUID.randomUUID(), "Approved Clinic")));
-                when(clinicService.getAllClinics(eq(ClinicStatus.APPROVED), any(), any())).thenReturn(page);
+                when(clinicService.getFirstClinicsPage(ClinicStatus.APPROVED, Sort.Direction.DESC, 20))
+                                .thenReturn(page);
 
                 mockMvc.perform(get("/clinics")
                                 .param("status", "APPROVED"))
@@ -146,18 +160,59 @@ class ClinicControllerUnitTest {
         @DisplayName("TC-UNIT-CLINIC-003: Success - returns clinic detail")
         void getClinicById_validId_returns200() throws Exception {
                 UUID id = UUID.randomUUID();
-                when(clinicService.getClinicById(id)).thenReturn(mockClinic(id, "Clinic Detail"));
+                ResourceVersion version = ResourceVersion.of("clinic", id, LocalDateTime.of(2026, 1, 1, 8, 0));
+                when(clinicService.getClinicVersion(id)).thenReturn(version);
+                when(clinicService.getClinicDetail(id, version))
+                                .thenReturn(new ClinicDetailCache.Detail(mockClinic(id, "Clinic Detail"), version));
 
                 mockMvc.perform(get("/clinics/{id}", id))
                                 .andExpect(status().isOk())
+                                .andExpect(header().string("ETag", version.etag()))
+                                .andExpect(header().exists("Last-Modified"))
                                 .andExpect(jsonPath("$.name").value("Clinic Detail"));
         }
 
+        @Test
+        @DisplayName("TC-UNIT-CLINIC-003c: Success - validators come from the version checked before the load")
+        void getClinicById_bodyNewerThanLookup_etagOfLookup() throws Exception {
+                UUID id = UUID.randomUUID();
+                ResourceVersion looked = ResourceVersion.of("clinic", id, LocalDateTime.of(2026, 1, 1, 8, 0));
+                ResourceVersion loaded = ResourceVersion.of("clinic", id, LocalDateTime.of(2026, 1, 2, 8, 0));
+                when(clinicService.getClinicVersion(id)).thenReturn(looked);
+                // A write committed between the version lookup and the load
+                when(clinicService.getClinicDetail(id, looked))
+                                .thenReturn(new ClinicDetailCache.Detail(mockClinic(id, "Renamed"), loaded));
+
+                HttpHeaders expected = new HttpHeaders();
+                expected.setLastModified(looked.lastModified());
+
+                // The older ETag only makes the next conditional GET a 200
+                mockMvc.perform(get("/clinics/{id}", id))
+                                .andExpect(status().isOk())
+                                .andExpect(header().stringValues("ETag", looked.etag()))
+                                .andExpect(header().stringValues("Last-Modified", expected.getFirst("Last-Modified")))
+                                .andExpect(jsonPath("$.name").value("Renamed"));
+        }
+
+        @Test
+        @DisplayName("TC-UNIT-CLINIC-003b: Not modified - matching ETag or date, without reading the detail")
+        void getClinicById_notModified_returns304() throws Exception {
+                UUID id = UUID.randomUUID();
+                ResourceVersion version = ResourceVersion.of("clinic", id, LocalDateTime.of(2026, 1, 1, 8, 0));
+                when(clinicService.getClinicVersion(id)).thenReturn(version);
+
+                mockMvc.perform(get("/clinics/{id}", id).header("If-None-Match", version.etag()))
+                                .andExpect(status().isNotModified());
+                mockMvc.perform(get("/clinics/{id}", id).header("If-Modified-Since", "Fri, 02 Jan 2026 00:00:00 GMT"))
+                                .andExpect(status().isNotModified());
+                verify(clinicService, never()).getClinicDetail(any(), any());
+        }
+
         @Test
         @DisplayName("TC-UNIT-CLINIC-043: Fail - clinic not found")
         void getClinicById_notFound_returns404() throws Exception {
                 UUID id = UUID.randomUUID();
-                when(clinicService.getClinicById(id))
+                when(clinicService.getClinicVersion(id))
                                 .thenThrow(new ResourceNotFoundException("Clinic not found"));
 
                 mockMvc.perform(get("/clinics/{id}", id))
@@ -282,13 +337,73 @@ class ClinicControllerUnitTest {
                                 .andExpect(jsonPath("$.content", hasSize(1)));
         }
 
+        @Test
+        @DisplayName("TC-UNIT-CLINIC-018d: Not modified - location catalog ETag matches")
+        void getActiveLocations_matchingEtag_returns304() throws Exception {
+                when(clinicService.getLocationCatalog()).thenReturn(new ClinicLocationCatalog.Catalog("r1",
+                                List.of(new ClinicLocationResponse("Đà Nẵng", "Hải Châu", "Thạch Thang")),
+                                "\"abc\""));
+
+                mockMvc.perform(get("/clinics/locations"))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("ETag", "\"abc\""))
+                                .andExpect(jsonPath("$[0].province").value("Đà Nẵng"));
+
+                mockMvc.perform(get("/clinics/locations")
+                                .header("If-None-Match", "\"abc\""))
+                                .andExpect(status().isNotModified());
+        }
+
+        @Test
+        @DisplayName("TC-UNIT-CLINIC-018c: Success - autocomplete suggestions")
+        void suggestClinics_validPrefix_returns200() throws Exception {
+                when(clinicService.suggestClinics(eq("thu"), eq(10))).thenReturn(List.of(
+                                ClinicSuggestionResponse.builder()
+                                                .type(ClinicSuggestionResponse.Type.CLINIC)
+                                                .text("Thú Y Pet")
+                                                .clinicId(UUID.randomUUID())
+                                                .build()));
+
+                mockMvc.perform(get("/clinics/suggest")
+                                .param("q", "thu"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$", hasSize(1)))
+                                .andExpect(jsonPath("$[0].type").value("CLINIC"));
+        }
+
+        @Test
+        @DisplayName("TC-UNIT-CLINIC-018b: Success - accent-insensitive full-text search")
+        void fullTextSearch_validQuery_returns200() throws Exception {
+                Page<ClinicResponse> page = new PageImpl<>(List.of(
+                                mockClinic(UUID.randomUUID(), "Phòng khám Thú Y")));
+                when(clinicService.fullTextSearch(eq("thu y"), any())).thenReturn(page);
+
+                mockMvc.perform(get("/clinics/search/text")
+                                .param("q", "thu y"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content", hasSize(1)))
+                                .andExpect(jsonPath("$.content[0].name").value("Phòng khám Thú Y"));
+        }
+
+        @Test
+        @DisplayName("TC-UNIT-CLINIC-018c: Fail - full-text search page size above the cap")
+        void fullTextSearch_sizeTooLarge_returns400() throws Exception {
+                mockMvc.perform(get("/clinics/search/text")
+                                .param("q", "thu y")
+                                .param("size", "10000"))
+                                .andExpect(status().isBadRequest());
+
+                verify(clinicService, never()).fullTextSearch(any(), any());
+        }
+
         @Test
         @DisplayName("TC-UNIT-CLINIC-020: Success - find nearby")
         void findNearbyClinics_validCoords_returns200() throws Exception {
                 Page<ClinicResponse> page = new PageImpl<>(List.of(
                                 mockClinic(UUID.randomUUID(), "Nearby Clinic")));
-                when(clinicService.findNearbyClinics(any(BigDecimal.class), any(BigDecimal.class), anyDouble(), any()))
-                                .thenReturn(page);
+                when(clinicService.findNearbyPage(any(BigDecimal.class), any(BigDecimal.class), anyDouble(), any(),
+                                isNull(), isNull()))
+                                .thenReturn(new ClinicService.NearbyPage(page, null));
 
                 mockMvc.perform(get("/clinics/nearby")
                                 .param("latitude", "10.762622")
@@ -298,6 +413,88 @@ class ClinicControllerUnitTest {
                                 .andExpect(jsonPath("$.content", hasSize(1)));
         }
 
+        @Test
+        @DisplayName("TC-UNIT-CLINIC-020b: Success - full nearby page returns next cursor, cursor is passed back")
+        void findNearbyClinics_fullPage_returnsNextCursor() throws Exception {
+                UUID lastId = UUID.randomUUID();
+                ClinicResponse last = mockClinic(lastId, "Last Clinic");
+                last.setDistance(2.5);
+                NearbyCursor previous = new NearbyCursor(1.0, UUID.randomUUID());
+                when(clinicService.findNearbyPage(any(BigDecimal.class), any(BigDecimal.class), anyDouble(), any(),
+                                eq(previous), isNull()))
+                                .thenReturn(new ClinicService.NearbyPage(new PageImpl<>(List.of(last)),
+                                                new NearbyCursor(2.5, lastId)));
+
+                mockMvc.perform(get("/clinics/nearby")
+                                .param("latitude", "10.762622")
+                                .param("longitude", "106.660172")
+                                .param("size", "1")
+                                .param("cursor", previous.encode()))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("X-Next-Cursor", new NearbyCursor(2.5, lastId).encode()));
+        }
+
+        @Test
+        @DisplayName("TC-UNIT-CLINIC-020f: Success - short page still returns the next cursor of the search")
+        void findNearbyClinics_shortPageWithMoreHits_returnsNextCursor() throws Exception {
+                // Last hit of the page was dropped (stale index entry), more hits follow
+                NearbyCursor next = new NearbyCursor(3.0, UUID.randomUUID());
+                when(clinicService.findNearbyPage(any(BigDecimal.class), any(BigDecimal.class), anyDouble(), any(),
+                                isNull(), isNull()))
+                                .thenReturn(new ClinicService.NearbyPage(
+                                                new PageImpl<>(List.of(mockClinic(UUID.randomUUID(), "Nearby Clinic"))),
+                                                next));
+
+                mockMvc.perform(get("/clinics/nearby")
+                                .param("latitude", "10.762622")
+                                .param("longitude", "106.660172")
+                                .param("size", "2")
+                                .param("includeRoute", "false"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content", hasSize(1)))
+                                .andExpect(header().string("X-Next-Cursor", next.encode()));
+        }
+
+        @Test
+        @DisplayName("TC-UNIT-CLINIC-020c: Fail - malformed nearby cursor")
+        void findNearbyClinics_invalidCursor_returns400() throws Exception {
+                mockMvc.perform(get("/clinics/nearby")
+                                .param("latitude", "10.762622")
+                                .param("longitude", "106.660172")
+                                .param("cursor", "not-a-cursor"))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("TC-UNIT-CLINIC-020e: Fail - nearby radius above the cap")
+        void findNearbyClinics_radiusTooLarge_returns400() throws Exception {
+                mockMvc.perform(get("/clinics/nearby")
+                                .param("latitude", "10.762622")
+                                .param("longitude", "106.660172")
+                                .param("radius", "5000"))
+                                .andExpect(status().isBadRequest());
+
+                verify(clinicService, never()).findNearbyPage(any(), any(), anyDouble(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("TC-UNIT-CLINIC-020d: Success - openAt filter is passed to the search")
+        void findNearbyClinics_openAt_passedToService() throws Exception {
+                LocalDateTime openAt = LocalDateTime.of(2026, 1, 5, 9, 0);
+                when(clinicService.findNearbyPage(any(BigDecimal.class), any(BigDecimal.class), anyDouble(), any(),
+                                isNull(), eq(openAt)))
+                                .thenReturn(new ClinicService.NearbyPage(
+                                                new PageImpl<>(List.of(mockClinic(UUID.randomUUID(), "Open Clinic"))),
+                                                null));
+
+                mockMvc.perform(get("/clinics/nearby")
+                                .param("latitude", "10.762622")
+                                .param("longitude", "106.660172")
+                                .param("openAt", "2026-01-05T09:00:00"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content", hasSize(1)));
+        }
+
         // ==================== IMAGE & LOGO TESTS ====================
 
         @Test
@@ -418,7 +615,7 @@ class ClinicControllerUnitTest {
                                 mockClinic(UUID.randomUUID(), "Pending Clinic 1"),
                                 mockClinic(UUID.randomUUID(), "Pending Clinic 2")));
 
-                when(clinicService.getPendingClinics(any())).thenReturn(page);
+                when(clinicService.getFirstClinicsPage(ClinicStatus.PENDING, Sort.Direction.DESC, 20)).thenReturn(page);
 
                 mockMvc.perform(get("/clinics/admin/pending")
                                 .param("page", "0")
@@ -431,10 +628,84 @@ class ClinicControllerUnitTest {
         @DisplayName("TC-UNIT-CLINIC-049: Success - empty pending clinics")
         void getPendingClinics_emptyResult_returns200() throws Exception {
                 Page<ClinicResponse> emptyPage = new PageImpl<>(List.of());
-                when(clinicService.getPendingClinics(any())).thenReturn(emptyPage);
+                when(clinicService.getFirstClinicsPage(ClinicStatus.PENDING, Sort.Direction.DESC, 20))
+                                .thenReturn(emptyPage);
 
                 mockMvc.perform(get("/clinics/admin/pending"))
                                 .andExpect(status().isOk())
                                 .andExpect(jsonPath("$.content", hasSize(0)));
         }
+
+        @Test
+        @DisplayName("TC-UNIT-CLINIC-050: Success - first pending page is a keyset read with a cursor")
+        void getPendingClinics_fullPage_returnsNextCursor() throws Exception {
+                ClinicResponse last = mockClinic(UUID.randomUUID(), "Pending Clinic 2");
+                last.setCreatedAt(LocalDateTime.of(2026, 10, 1, 9, 30));
+                Page<ClinicResponse> page = new PageImpl<>(List.of(
+                                mockClinic(UUID.randomUUID(), "Pending Clinic 1"), last), PageRequest.of(0, 2), 5);
+                when(clinicService.getFirstClinicsPage(ClinicStatus.PENDING, Sort.Direction.ASC, 2)).thenReturn(page);
+
+                mockMvc.perform(get("/clinics/admin/pending")
+                                .param("size", "2")
+                                .param("sortDir", "ASC"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.totalElements").value(5))
+                                .andExpect(header().string("X-Next-Cursor",
+                                                ClinicListCursor.after(last, Sort.Direction.ASC).encode()));
+
+                verify(clinicService, never()).getPendingClinics(any());
+        }
+
+        @Test
+        @DisplayName("TC-UNIT-CLINIC-050b: Success - later offset pages and other sorts keep the offset query")
+        void getPendingClinics_laterPage_usesOffset() throws Exception {
+                Page<ClinicResponse> page = new PageImpl<>(List.of(
+                                mockClinic(UUID.randomUUID(), "Pending Clinic 3")), PageRequest.of(1, 2), 3);
+                when(clinicService.getPendingClinics(any())).thenReturn(page);
+
+                mockMvc.perform(get("/clinics/admin/pending")
+                                .param("page", "1")
+                                .param("size", "2"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content", hasSize(1)));
+                mockMvc.perform(get("/clinics/admin/pending")
+                                .param("sortBy", "name"))
+                                .andExpect(status().isOk());
+
+                verify(clinicService).getPendingClinics(
+                                PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "createdAt", "clinicId")));
+                verify(clinicService).getPendingClinics(PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "name")));
+                verify(clinicService, never()).getFirstClinicsPage(any(), any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("TC-UNIT-CLINIC-051: Success - cursor page skips the COUNT, total from cache")
+        void getPendingClinics_withCursor_returnsKeysetPage() throws Exception {
+                ClinicListCursor cursor = new ClinicListCursor(LocalDateTime.of(2026, 10, 1, 9, 30),
+                                UUID.randomUUID(), Sort.Direction.ASC);
+                ClinicResponse last = mockClinic(UUID.randomUUID(), "Pending Clinic 4");
+                last.setCreatedAt(LocalDateTime.of(2026, 10, 2, 8, 0));
+                when(clinicService.getClinicsAfter(ClinicStatus.PENDING, null, cursor, 2))
+                                .thenReturn(new SliceImpl<>(List.of(mockClinic(UUID.randomUUID(), "Pending Clinic 3"),
+                                                last), Pageable.ofSize(2), true));
+                when(clinicService.countClinics(ClinicStatus.PENDING)).thenReturn(5L);
+
+                mockMvc.perform(get("/clinics/admin/pending")
+                                .param("size", "2")
+                                .param("cursor", cursor.encode()))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content", hasSize(2)))
+                                .andExpect(header().string("X-Total-Count", "5"))
+                                .andExpect(header().string("X-Next-Cursor",
+                                                ClinicListCursor.after(last, Sort.Direction.ASC).encode()));
+
+                verify(clinicService, never()).getPendingClinics(any());
+        }
+
+        @Test
+        @DisplayName("TC-UNIT-CLINIC-052: Fail - malformed cursor")
+        void getAllClinics_invalidCursor_returns400() throws Exception {
+                mockMvc.perform(get("/clinics").param("cursor", "not-a-cursor"))
+                                .andExpect(status().isBadRequest());
+        }
 }
@@ -7,6 +7,8 @@ import com.petties.petties.config.JwtTokenProvider;
 import com.petties.petties.config.UserDetailsServiceImpl;
 import com.petties.petties.repository.BlacklistedTokenRepository;
 import com.petties.petties.service.ClinicPriceService;
+import com.petties.petties.service.TokenBlacklistService;
+import com.petties.petties.service.TokenVersionService;
 import com.petties.petties.repository.ClinicRepository;
 import com.petties.petties.model.User;
 import org.junit.jupiter.api.BeforeEach;
@@ -56,6 +58,12 @@ public class ClinicPriceControllerUnitTest {
     @MockitoBean
     private BlacklistedTokenRepository blacklistedTokenRepository;
 
+    @MockitoBean
+    private TokenVersionService tokenVersionService;
+
+    @MockitoBean
+    private TokenBlacklistService tokenBlacklistService;
+
     private UUID clinicId;
     private User mockUser;
 
@@ -12,6 +12,7 @@ import com.petties.petties.exception.BadRequestException;
 import com.petties.petties.exception.ResourceNotFoundException;
 import com.petties.petties.repository.BlacklistedTokenRepository;
 import com.petties.petties.service.ClinicServiceService;
+import com.petties.petties.util.ResourceVersion;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -146,6 +147,7 @@ class ClinicServiceControllerUnitTest {
         @Test
         @DisplayName("TC-UNIT-SERVICE-016: Success - list all services")
         void getAllServices_returns200() throws Exception {
+                when(clinicServiceService.getAllServicesVersion()).thenReturn(ResourceVersion.of("clinic-services", 1));
                 when(clinicServiceService.getAllServices()).thenReturn(List.of(testServiceResponse));
 
                 mockMvc.perform(get("/services"))
@@ -154,6 +156,17 @@ class ClinicServiceControllerUnitTest {
                                 .andExpect(jsonPath("$[0].name").value(containsString("Khám")));
         }
 
+        @Test
+        @DisplayName("TC-UNIT-SERVICE-016b: Not modified - matching ETag skips loading the services")
+        void getAllServices_matchingEtag_returns304() throws Exception {
+                ResourceVersion version = ResourceVersion.of("clinic-services", 1);
+                when(clinicServiceService.getAllServicesVersion()).thenReturn(version);
+
+                mockMvc.perform(get("/services").header("If-None-Match", version.etag()))
+                                .andExpect(status().isNotModified());
+                verify(clinicServiceService, never()).getAllServices();
+        }
+
         // ==================== GET BY ID TESTS ====================
 
         @Test
@@ -248,6 +261,8 @@ class ClinicServiceControllerUnitTest {
         @Test
         @DisplayName("TC-UNIT-SERVICE-051: Success - get services by clinic id")
         void getServicesByClinicId_returns200() throws Exception {
+                when(clinicServiceService.getServicesVersionByClinicId(testClinicId))
+                                .thenReturn(ResourceVersion.of("clinic-services", testClinicId));
                 when(clinicServiceService.getServicesByClinicId(testClinicId)).thenReturn(List.of(testServiceResponse));
 
                 mockMvc.perform(get("/services/by-clinic/{clinicId}", testClinicId))
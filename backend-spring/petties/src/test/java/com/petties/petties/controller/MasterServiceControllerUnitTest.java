@@ -11,6 +11,7 @@ import com.petties.petties.dto.masterService.MasterServiceUpdateRequest;
 import com.petties.petties.exception.ResourceNotFoundException;
 import com.petties.petties.repository.BlacklistedTokenRepository;
 import com.petties.petties.service.MasterServiceService;
+import com.petties.petties.util.ResourceVersion;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -120,12 +121,19 @@ class MasterServiceControllerUnitTest {
 	@Test
 	@DisplayName("TC-UNIT-MASTER-SERVICE-002: Success - get all master services")
 	void getAllMasterServices_returns200() throws Exception {
+		ResourceVersion version = ResourceVersion.of("master-services", 1);
+		when(masterServiceService.getAllMasterServicesVersion()).thenReturn(version);
 		when(masterServiceService.getAllMasterServices()).thenReturn(List.of(testResponse));
 
 		mockMvc.perform(get("/master-services"))
 				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", version.etag()))
 				.andExpect(jsonPath("$", hasSize(1)))
 				.andExpect(jsonPath("$[0].masterServiceId").value(testMasterServiceId.toString()));
+
+		mockMvc.perform(get("/master-services").header("If-None-Match", version.etag()))
+				.andExpect(status().isNotModified());
+		verify(masterServiceService, times(1)).getAllMasterServices();
 	}
 
 	// ==================== GET BY ID TESTS ====================
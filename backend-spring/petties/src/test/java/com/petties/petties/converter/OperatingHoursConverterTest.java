@@ -0,0 +1,99 @@
+package com.petties.petties.converter;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalTimeDeserializer;
+import com.petties.petties.model.OperatingHours;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for reading operating hours: the streaming fast path must give
+ * exactly what Jackson gives, and fall back to it for anything else.
+ */
+@DisplayName("OperatingHoursConverter Unit Tests")
+class OperatingHoursConverterTest {
+
+    // Shape written by Postgres jsonb: keys sorted by length, ", " and ": " separators
+    private static final String JSONB = "{\"FRIDAY\": {\"isClosed\": false, \"breakEnd\": \"13:30\", "
+            + "\"openTime\": \"08:00\", \"closeTime\": \"17:00\", \"breakStart\": \"12:00\"}, "
+            + "\"MONDAY\": {\"isClosed\": false, \"breakEnd\": null, \"openTime\": \"22:00\", "
+            + "\"closeTime\": \"06:00\", \"breakStart\": null}, "
+            + "\"SUNDAY\": {\"isClosed\": true, \"breakEnd\": null, \"openTime\": null, "
+            + "\"closeTime\": null, \"breakStart\": null}}";
+
+    private final OperatingHoursConverter converter = new OperatingHoursConverter();
+
+    private static Map<String, OperatingHours> jackson(String json) throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        SimpleModule timeModule = new SimpleModule();
+        timeModule.addDeserializer(LocalTime.class, new LocalTimeDeserializer(DateTimeFormatter.ofPattern("HH:mm")));
+        mapper.registerModule(timeModule);
+        return mapper.readValue(json, new TypeReference<>() {
+        });
+    }
+
+    private static void assertSameHours(Map<String, OperatingHours> expected, Map<String, OperatingHours> actual) {
+        assertEquals(List.copyOf(expected.keySet()), List.copyOf(actual.keySet()));
+        expected.forEach((day, hours) -> {
+            OperatingHours other = actual.get(day);
+            assertEquals(hours.getOpenTime(), other.getOpenTime(), day);
+            assertEquals(hours.getCloseTime(), other.getCloseTime(), day);
+            assertEquals(hours.getBreakStart(), other.getBreakStart(), day);
+            assertEquals(hours.getBreakEnd(), other.getBreakEnd(), day);
+            assertEquals(hours.getIsClosed(), other.getIsClosed(), day);
+        });
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-HOURS-001: jsonb and compact payloads read the same as Jackson")
+    void convertToEntityAttribute_matchesJackson() throws Exception {
+        String compact = converter.convertToDatabaseColumn(converter.convertToEntityAttribute(JSONB));
+
+        assertSameHours(jackson(JSONB), converter.convertToEntityAttribute(JSONB));
+        assertSameHours(jackson(compact), converter.convertToEntityAttribute(compact));
+        assertSameHours(jackson("{}"), converter.convertToEntityAttribute("{}"));
+        assertEquals(LocalTime.of(13, 30), converter.convertToEntityAttribute(JSONB).get("FRIDAY").getBreakEnd());
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-HOURS-002: cached schedules still give each load its own objects")
+    void convertToEntityAttribute_cachedSchedule_notShared() {
+        Map<String, OperatingHours> first = converter.convertToEntityAttribute(JSONB);
+        first.get("FRIDAY").setOpenTime(LocalTime.of(10, 0));
+        first.remove("SUNDAY");
+
+        Map<String, OperatingHours> second = converter.convertToEntityAttribute(JSONB);
+
+        assertNotSame(first, second);
+        assertEquals(LocalTime.of(8, 0), second.get("FRIDAY").getOpenTime());
+        assertTrue(second.containsKey("SUNDAY"));
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-HOURS-003: payloads outside the fast path fall back to Jackson")
+    void convertToEntityAttribute_unusualPayload_fallsBack() throws Exception {
+        List<String> payloads = List.of(
+                "{\"monday\": {\"openTime\": \"08:00\"}}",
+                "{\"MONDAY\": {\"openTime\": \"08:00\", \"closeTime\": \"\\u0031\\u0037:00\"}}",
+                "{\"MONDAY\": null}");
+
+        for (String payload : payloads) {
+            Map<String, OperatingHours> expected = jackson(payload);
+            Map<String, OperatingHours> actual = converter.convertToEntityAttribute(payload);
+            assertEquals(expected.keySet(), actual.keySet(), payload);
+            if (expected.values().iterator().next() != null) {
+                assertSameHours(expected, actual);
+            }
+        }
+        assertThrows(RuntimeException.class, () -> converter.convertToEntityAttribute("{\"MONDAY\": {"));
+    }
+}
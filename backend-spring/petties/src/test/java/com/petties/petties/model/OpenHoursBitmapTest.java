@@ -0,0 +1,79 @@
+package com.petties.petties.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for compiling operating hours into half-hour slots.
+ */
+@DisplayName("OpenHoursBitmap Unit Tests")
+class OpenHoursBitmapTest {
+
+    // 2026-01-05 is a Monday
+    private static LocalDateTime monday(int hour, int minute) {
+        return LocalDateTime.of(2026, 1, 5, hour, minute);
+    }
+
+    private static OperatingHours hours(String open, String close, String breakStart, String breakEnd) {
+        return new OperatingHours(LocalTime.parse(open), LocalTime.parse(close),
+                breakStart != null ? LocalTime.parse(breakStart) : null,
+                breakEnd != null ? LocalTime.parse(breakEnd) : null, false);
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-OPENHOURS-001: open slots respect opening, closing and break")
+    void compile_withBreak() {
+        OpenHoursBitmap bitmap = OpenHoursBitmap.compile(Map.of(
+                "MONDAY", hours("08:00", "17:00", "12:00", "13:30")));
+
+        assertFalse(bitmap.isOpenAt(monday(7, 59)));
+        assertTrue(bitmap.isOpenAt(monday(8, 0)));
+        assertTrue(bitmap.isOpenAt(monday(11, 45)));
+        assertFalse(bitmap.isOpenAt(monday(12, 0)));
+        assertFalse(bitmap.isOpenAt(monday(13, 15)));
+        assertTrue(bitmap.isOpenAt(monday(13, 30)));
+        assertTrue(bitmap.isOpenAt(monday(16, 59)));
+        assertFalse(bitmap.isOpenAt(monday(17, 0)));
+        assertFalse(bitmap.isOpenAt(monday(9, 0).plusDays(1))); // Tuesday not configured
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-OPENHOURS-002: closed days, partial slots and overnight hours")
+    void compile_closedPartialAndOvernight() {
+        OperatingHours closed = hours("08:00", "17:00", null, null);
+        closed.setIsClosed(true);
+        OpenHoursBitmap bitmap = OpenHoursBitmap.compile(Map.of(
+                "MONDAY", closed,
+                "SATURDAY", hours("08:15", "10:00", null, null),
+                "SUNDAY", hours("22:00", "02:00", null, null)));
+
+        assertFalse(bitmap.isOpenAt(monday(9, 0)));
+        LocalDateTime saturday = monday(8, 0).plusDays(5);
+        assertFalse(bitmap.isOpenAt(saturday.withMinute(15))); // 08:00-08:30 only partly open
+        assertTrue(bitmap.isOpenAt(saturday.withMinute(30)));
+        LocalDateTime sunday = monday(23, 0).plusDays(6);
+        assertTrue(bitmap.isOpenAt(sunday));
+        assertTrue(bitmap.isOpenAt(monday(1, 30).plusDays(7))); // wraps into Monday morning
+        assertFalse(bitmap.isOpenAt(monday(2, 0).plusDays(7)));
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-OPENHOURS-003: byte form round-trips in Postgres get_bit order")
+    void toBytes_roundTripAndBitOrder() {
+        OpenHoursBitmap bitmap = OpenHoursBitmap.compile(Map.of(
+                "MONDAY", hours("00:00", "00:30", null, null), // slot 0 only
+                "SUNDAY", hours("23:30", "00:00", null, null))); // slot 335 only
+
+        byte[] bytes = bitmap.toBytes();
+        assertEquals(OpenHoursBitmap.BYTES, bytes.length);
+        assertEquals(0x01, bytes[0]); // get_bit(b, 0) = lowest bit of the first byte
+        assertEquals((byte) 0x80, bytes[41]); // get_bit(b, 335)
+        assertEquals(bitmap, OpenHoursBitmap.fromBytes(bytes));
+    }
+}
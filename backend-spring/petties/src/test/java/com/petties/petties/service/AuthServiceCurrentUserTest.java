@@ -0,0 +1,107 @@
+package com.petties.petties.service;
+
+import com.petties.petties.config.UserDetailsServiceImpl;
+import com.petties.petties.model.User;
+import com.petties.petties.model.enums.Role;
+import com.petties.petties.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for request-scoped memoization of AuthService.getCurrentUser.
+ * Asserts the users table is queried at most once per request.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuthService getCurrentUser Memoization Tests")
+class AuthServiceCurrentUserTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private AuthService authService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUserId(UUID.randomUUID());
+        user.setUsername("owner");
+        user.setRole(Role.CLINIC_OWNER);
+
+        UserDetailsServiceImpl.UserPrincipal principal = UserDetailsServiceImpl.UserPrincipal
+                .fromToken(user.getUserId(), user.getUsername(), user.getRole().name());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-AUTH-CURRENT-001: Repeated calls in one request issue one user query")
+    void getCurrentUser_sameRequest_queriesOnce() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(userRepository.findById(user.getUserId())).thenReturn(Optional.of(user));
+
+        User first = authService.getCurrentUser();
+        User second = authService.getCurrentUser();
+        User third = authService.getCurrentUser();
+
+        assertSame(first, second);
+        assertSame(first, third);
+        verify(userRepository, times(1)).findById(any());
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-AUTH-CURRENT-002: Separate requests each resolve the user once")
+    void getCurrentUser_newRequest_queriesAgain() {
+        when(userRepository.findById(user.getUserId())).thenReturn(Optional.of(user));
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        authService.getCurrentUser();
+        authService.getCurrentUser();
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        authService.getCurrentUser();
+        authService.getCurrentUser();
+
+        verify(userRepository, times(2)).findById(any());
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-AUTH-CURRENT-003: Completed request falls back to a fresh query")
+    void getCurrentUser_requestCompleted_queriesWithoutCaching() {
+        ServletRequestAttributes attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+        when(userRepository.findById(user.getUserId())).thenReturn(Optional.of(user));
+
+        authService.getCurrentUser();
+        attributes.requestCompleted();
+        authService.getCurrentUser();
+
+        verify(userRepository, times(2)).findById(any());
+    }
+}
@@ -0,0 +1,253 @@
+package com.petties.petties.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.petties.petties.dto.clinic.ClinicResponse;
+import com.petties.petties.exception.ResourceNotFoundException;
+import com.petties.petties.model.OperatingHours;
+import com.petties.petties.util.ResourceVersion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the two-tier clinic detail cache with Redis mocked.
+ */
+@DisplayName("ClinicDetailCache Unit Tests")
+class ClinicDetailCacheTest {
+
+    private static final UUID CLINIC_ID = UUID.randomUUID();
+    private static final String KEY = "clinic:detail:" + CLINIC_ID;
+    private static final String GENERATION_KEY = "clinic:detail:gen:" + CLINIC_ID;
+    private static final ResourceVersion V1 = ResourceVersion.of("clinic", CLINIC_ID, LocalDateTime.of(2026, 1, 1, 8, 0));
+    private static final ResourceVersion V2 = ResourceVersion.of("clinic", CLINIC_ID, LocalDateTime.of(2026, 1, 2, 8, 0));
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private StringRedisTemplate redis;
+    private ValueOperations<String, String> redisValues;
+    private SimpleMeterRegistry meterRegistry;
+    private ClinicDetailCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redis = mock(StringRedisTemplate.class);
+        redisValues = mock(ValueOperations.class);
+        when(redis.opsForValue()).thenReturn(redisValues);
+        when(redisValues.multiGet(anyList())).thenReturn(Arrays.asList(null, null));
+
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ClinicDetailCache(redis, objectMapper, meterRegistry, 100);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "l1TtlSeconds", 30L);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 600L);
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("petties.clinic.detail.cache").tag("result", result).counter().count();
+    }
+
+    private void remote(UUID clinicId, String json, String generation) {
+        when(redisValues.multiGet(List.of("clinic:detail:" + clinicId, "clinic:detail:gen:" + clinicId)))
+                .thenReturn(Arrays.asList(json, generation));
+    }
+
+    private static ClinicDetailCache.Detail clinic(String name) {
+        return clinic(name, V1);
+    }
+
+    private static ClinicDetailCache.Detail clinic(String name, ResourceVersion version) {
+        return new ClinicDetailCache.Detail(ClinicResponse.builder()
+                .clinicId(CLINIC_ID)
+                .name(name)
+                .operatingHours(Map.of("MONDAY",
+                        new OperatingHours(LocalTime.of(8, 0), LocalTime.of(17, 0), null, null, false)))
+                .images(List.of("https://img.test/1"))
+                .build(), version);
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-DETAIL-CACHE-001: miss loads once and fills both tiers, later reads hit L1")
+    void get_missThenHit_loadsOnce() {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<ClinicDetailCache.Detail> loader = () -> {
+            loads.incrementAndGet();
+            return clinic("Petties Q1");
+        };
+
+        ClinicDetailCache.Detail first = cache.get(CLINIC_ID, null, loader);
+        ClinicDetailCache.Detail second = cache.get(CLINIC_ID, null, loader);
+
+        assertEquals(1, loads.get());
+        assertNotSame(first, second); // every caller gets its own copy
+        assertEquals("Petties Q1", second.clinic().getName());
+        assertEquals(LocalTime.of(8, 0), second.clinic().getOperatingHours().get("MONDAY").getOpenTime());
+        verify(redis).execute(ArgumentMatchers.<RedisScript<Long>>any(), eq(List.of(KEY, GENERATION_KEY)),
+                eq(""), anyString(), eq("600000"));
+        assertEquals(1, count("miss"));
+        assertEquals(1, count("l1_hit"));
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-DETAIL-CACHE-002: L2 hit skips the loader, unreadable L2 entries are reloaded")
+    void get_remoteEntry_usedOrReplaced() throws Exception {
+        remote(CLINIC_ID, objectMapper.writeValueAsString(clinic("From Redis")), null);
+        assertEquals("From Redis", cache.get(CLINIC_ID, null, () -> fail("loader must not run")).clinic().getName());
+        assertEquals(1, count("l2_hit"));
+
+        UUID otherId = UUID.randomUUID();
+        remote(otherId, "{not json", null);
+        assertEquals("Fresh", cache.get(otherId, null, () -> clinic("Fresh")).clinic().getName());
+        assertEquals(1, count("miss"));
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-DETAIL-CACHE-003: invalidation clears both tiers")
+    void invalidate_clearsBothTiers() {
+        cache.get(CLINIC_ID, null, () -> clinic("Old name"));
+
+        cache.invalidateAfterCommit(CLINIC_ID); // no transaction: runs immediately
+
+        verify(redis).execute(ArgumentMatchers.<RedisScript<Long>>any(),
+                eq(List.of(KEY, GENERATION_KEY)), eq("600000"));
+        assertEquals("New name", cache.get(CLINIC_ID, null, () -> clinic("New name")).clinic().getName());
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-DETAIL-CACHE-004: concurrent misses coalesce, failures reach every caller uncached")
+    void get_concurrentMisses_singleLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<ClinicDetailCache.Detail> slowLoader = () -> {
+            loads.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new ResourceNotFoundException("Clinic not found with id: " + CLINIC_ID);
+        };
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<ClinicDetailCache.Detail>> calls = List.of(
+                    pool.submit(() -> cache.get(CLINIC_ID, null, slowLoader)),
+                    pool.submit(() -> cache.get(CLINIC_ID, null, slowLoader)),
+                    pool.submit(() -> cache.get(CLINIC_ID, null, slowLoader)),
+                    pool.submit(() -> cache.get(CLINIC_ID, null, slowLoader)));
+            while (count("coalesced") < 3) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+            for (Future<ClinicDetailCache.Detail> call : calls) {
+                Exception e = assertThrows(Exception.class, () -> call.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(ResourceNotFoundException.class, e.getCause());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals("Created", cache.get(CLINIC_ID, null, () -> clinic("Created")).clinic().getName());
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-DETAIL-CACHE-005: L2 write is guarded by the generation read before loading")
+    void get_miss_storeGuardedByGeneration() {
+        remote(CLINIC_ID, null, "7");
+        cache.get(CLINIC_ID, null, () -> clinic("Loaded"));
+        verify(redis).execute(ArgumentMatchers.<RedisScript<Long>>any(), eq(List.of(KEY, GENERATION_KEY)),
+                eq("7"), anyString(), eq("600000"));
+
+        // Redis unreadable: no generation to guard with, so nothing is written
+        UUID otherId = UUID.randomUUID();
+        when(redisValues.multiGet(List.of("clinic:detail:" + otherId, "clinic:detail:gen:" + otherId)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        assertEquals("Loaded", cache.get(otherId, null, () -> clinic("Loaded")).clinic().getName());
+        verify(redis, times(1)).execute(ArgumentMatchers.<RedisScript<Long>>any(), anyList(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-DETAIL-CACHE-006: entries of another version than the one looked up are reloaded")
+    void get_staleVersion_reloaded() throws Exception {
+        cache.get(CLINIC_ID, V1, () -> clinic("Old name", V1));
+        assertEquals("Old name", cache.get(CLINIC_ID, V1, () -> fail("loader must not run")).clinic().getName());
+
+        // Written on another node: this node's L1 and Redis still hold V1
+        ClinicDetailCache.Detail detail = cache.get(CLINIC_ID, V2, () -> clinic("New name", V2));
+        assertEquals("New name", detail.clinic().getName());
+        assertEquals(V2, detail.version());
+        assertEquals(1, count("stale"));
+
+        UUID otherId = UUID.randomUUID();
+        remote(otherId, objectMapper.writeValueAsString(clinic("Old name", V1)), null);
+        assertEquals(V2, cache.get(otherId, V2, () -> clinic("New name", V2)).version());
+        assertEquals(2, count("stale"));
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-DETAIL-CACHE-007: a caller of a newer version does not join an older load")
+    void get_coalescedOlderLoad_loadsCurrent() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<ClinicDetailCache.Detail> slowLoader = () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return clinic("Old name", V1);
+        };
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<ClinicDetailCache.Detail> older = pool.submit(() -> cache.get(CLINIC_ID, V1, slowLoader));
+            Future<ClinicDetailCache.Detail> newer = pool.submit(() -> {
+                while (count("miss") < 1) {
+                    Thread.onSpinWait();
+                }
+                return cache.get(CLINIC_ID, V2, () -> clinic("New name", V2));
+            });
+            while (count("coalesced") < 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertEquals(V1, older.get(5, TimeUnit.SECONDS).version());
+            assertEquals("New name", newer.get(5, TimeUnit.SECONDS).clinic().getName());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.petties.petties.service;
+
+import com.petties.petties.dto.clinic.ClinicGeoPoint;
+import com.petties.petties.dto.clinic.NearbyCursor;
+import com.petties.petties.repository.ClinicRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the in-memory clinic grid index: radius and k-nearest
+ * queries plus incremental maintenance.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ClinicGeoIndex Unit Tests")
+class ClinicGeoIndexTest {
+
+    // Da Nang city center
+    private static final double LAT = 16.0544;
+    private static final double LNG = 108.2022;
+
+    @Mock
+    private ClinicRepository clinicRepository;
+
+    @InjectMocks
+    private ClinicGeoIndex clinicGeoIndex;
+
+    private final UUID near = UUID.randomUUID(); // ~1 km
+    private final UUID mid = UUID.randomUUID(); // ~5 km
+    private final UUID far = UUID.randomUUID(); // ~50 km
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(clinicGeoIndex, "enabled", true);
+        ReflectionTestUtils.setField(clinicGeoIndex, "cellDegrees", 0.05);
+        when(clinicRepository.findApprovedGeoPoints()).thenReturn(List.of(
+                point(near, LAT + 0.009, LNG),
+                point(mid, LAT, LNG + 0.047),
+                point(far, LAT + 0.45, LNG)));
+        clinicGeoIndex.load();
+    }
+
+    private static ClinicGeoPoint point(UUID id, double lat, double lng) {
+        return new ClinicGeoPoint(id, BigDecimal.valueOf(lat), BigDecimal.valueOf(lng));
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-GEO-INDEX-001: radius query returns clinics inside radius, nearest first")
+    void findWithinRadius_returnsSortedHits() {
+        List<ClinicGeoIndex.Hit> hits = clinicGeoIndex.findWithinRadius(LAT, LNG, 10);
+
+        assertEquals(List.of(near, mid), hits.stream().map(ClinicGeoIndex.Hit::clinicId).toList());
+        assertEquals(1.0, hits.get(0).distanceKm(), 0.05);
+        assertEquals(5.0, hits.get(1).distanceKm(), 0.1);
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-GEO-INDEX-002: k-nearest widens the search until k clinics are found")
+    void findNearest_expandsRadius() {
+        List<ClinicGeoIndex.Hit> hits = clinicGeoIndex.findNearest(LAT, LNG, 3, 100);
+
+        assertEquals(List.of(near, mid, far), hits.stream().map(ClinicGeoIndex.Hit::clinicId).toList());
+        assertEquals(1, clinicGeoIndex.findNearest(LAT, LNG, 1, 100).size());
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-GEO-INDEX-003: upsert moves and remove drops a clinic")
+    void upsertAndRemove_updateIndexIncrementally() {
+        clinicGeoIndex.upsertAfterCommit(far, BigDecimal.valueOf(LAT), BigDecimal.valueOf(LNG + 0.01));
+        clinicGeoIndex.removeAfterCommit(near);
+
+        List<UUID> ids = clinicGeoIndex.findWithinRadius(LAT, LNG, 10).stream()
+                .map(ClinicGeoIndex.Hit::clinicId).toList();
+        assertEquals(List.of(far, mid), ids);
+        assertEquals(2, clinicGeoIndex.size());
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-GEO-INDEX-004: boxes over a pole or the antimeridian only visit populated cells")
+    void findWithinRadius_fullLongitudeBox_scansPopulatedCells() {
+        // Near the North Pole: the box spans every longitude, no clinic is inside
+        assertTrue(clinicGeoIndex.findWithinRadius(89.9, 0, 100).isEmpty());
+
+        // Box wider than the populated area: every clinic is found
+        List<UUID> ids = clinicGeoIndex.findWithinRadius(LAT, LNG, 20_000).stream()
+                .map(ClinicGeoIndex.Hit::clinicId).toList();
+        assertEquals(List.of(near, mid, far), ids);
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-GEO-INDEX-005: equal distances are ordered like Postgres uuids (unsigned)")
+    void findWithinRadius_tiesOrderedUnsigned() {
+        UUID low = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        UUID high = UUID.fromString("80000000-0000-0000-0000-000000000001");
+        clinicGeoIndex.upsertAfterCommit(high, BigDecimal.valueOf(LAT), BigDecimal.valueOf(LNG));
+        clinicGeoIndex.upsertAfterCommit(low, BigDecimal.valueOf(LAT), BigDecimal.valueOf(LNG));
+
+        List<UUID> ids = clinicGeoIndex.findWithinRadius(LAT, LNG, 0.5).stream()
+                .map(ClinicGeoIndex.Hit::clinicId).toList();
+
+        // UUID.compareTo would put "8000..." (negative as a signed long) first
+        assertEquals(List.of(low, high), ids);
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-GEO-INDEX-006: a cursor whose distance differs in the last bits still skips its row")
+    void cursor_distanceRoundedOnOtherPath_rowNotRepeated() {
+        UUID first = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        UUID second = UUID.fromString("00000000-0000-0000-0000-000000000002");
+        double distance = 1.2345678901234;
+        // Same row, distance computed by Postgres instead of the grid
+        NearbyCursor cursor = new NearbyCursor(Math.nextUp(distance), first);
+
+        assertFalse(cursor.isBefore(distance, first));
+        assertTrue(cursor.isBefore(distance, second));
+        assertTrue(cursor.isBefore(distance + 0.001, first));
+    }
+}
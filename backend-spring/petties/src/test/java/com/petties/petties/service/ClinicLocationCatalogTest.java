@@ -0,0 +1,112 @@
+package com.petties.petties.service;
+
+import com.petties.petties.dto.clinic.ClinicLocationResponse;
+import com.petties.petties.repository.ClinicRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the versioned location catalog cache.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ClinicLocationCatalog Unit Tests")
+class ClinicLocationCatalogTest {
+
+    private static final String VERSION_KEY = "clinic:locations:version";
+
+    @Mock
+    private ClinicRepository clinicRepository;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @InjectMocks
+    private ClinicLocationCatalog clinicLocationCatalog;
+
+    private final List<ClinicLocationResponse> locations = List.of(
+            new ClinicLocationResponse("Đà Nẵng", "Hải Châu", "Thạch Thang"));
+
+    @BeforeEach
+    void setUp() {
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-LOCATIONS-001: same version is served from memory, a bump reloads")
+    void get_versionBump_reloads() {
+        when(valueOperations.get(VERSION_KEY)).thenReturn("1", "1", "2");
+        when(clinicRepository.findActiveLocations()).thenReturn(locations);
+
+        ClinicLocationCatalog.Catalog first = clinicLocationCatalog.get();
+        ClinicLocationCatalog.Catalog second = clinicLocationCatalog.get();
+        ClinicLocationCatalog.Catalog third = clinicLocationCatalog.get();
+
+        assertSame(first, second);
+        assertNotSame(second, third);
+        assertEquals(first.etag(), third.etag()); // same content, same tag
+        verify(clinicRepository, times(2)).findActiveLocations();
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-LOCATIONS-002: concurrent cold misses query the database once")
+    void get_concurrentColdMiss_singleQuery() throws Exception {
+        when(valueOperations.get(VERSION_KEY)).thenReturn("1");
+        CountDownLatch release = new CountDownLatch(1);
+        when(clinicRepository.findActiveLocations()).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return locations;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ClinicLocationCatalog.Catalog>> futures = new java.util.ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(clinicLocationCatalog::get));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<ClinicLocationCatalog.Catalog> future : futures) {
+                assertEquals(locations, future.get(5, TimeUnit.SECONDS).locations());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(clinicRepository, times(1)).findActiveLocations();
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-LOCATIONS-003: without Redis the local version still sees own changes")
+    void invalidate_redisDown_localVersionBumped() {
+        when(valueOperations.get(VERSION_KEY)).thenThrow(new RedisConnectionFailureException("down"));
+        when(valueOperations.increment(VERSION_KEY)).thenThrow(new RedisConnectionFailureException("down"));
+        when(clinicRepository.findActiveLocations()).thenReturn(locations);
+
+        clinicLocationCatalog.get();
+        clinicLocationCatalog.get();
+        clinicLocationCatalog.invalidateAfterCommit(); // no transaction: applied immediately
+        clinicLocationCatalog.get();
+
+        verify(clinicRepository, times(2)).findActiveLocations();
+    }
+}
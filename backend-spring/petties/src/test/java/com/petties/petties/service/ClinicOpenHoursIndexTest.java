@@ -0,0 +1,71 @@
+package com.petties.petties.service;
+
+import com.petties.petties.dto.clinic.ClinicOpenHoursRow;
+import com.petties.petties.model.OpenHoursBitmap;
+import com.petties.petties.model.OperatingHours;
+import com.petties.petties.repository.ClinicRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the in-memory open-hours index maintenance.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ClinicOpenHoursIndex Unit Tests")
+class ClinicOpenHoursIndexTest {
+
+    // Monday 09:00
+    private static final int SLOT = OpenHoursBitmap.slotOf(LocalDateTime.of(2026, 1, 5, 9, 0));
+
+    private static final Map<String, OperatingHours> WEEKDAYS = Map.of("MONDAY",
+            new OperatingHours(LocalTime.of(8, 0), LocalTime.of(17, 0), null, null, false));
+
+    @Mock
+    private ClinicRepository clinicRepository;
+
+    @InjectMocks
+    private ClinicOpenHoursIndex clinicOpenHoursIndex;
+
+    private static ClinicOpenHoursRow row(UUID id) {
+        byte[] bitmap = OpenHoursBitmap.compile(WEEKDAYS).toBytes();
+        return new ClinicOpenHoursRow() {
+            public UUID getClinicId() { return id; }
+            public byte[] getOpenHoursBitmap() { return bitmap; }
+        };
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-OPEN-HOURS-001: changes committed during a reload survive the older snapshot")
+    void reload_concurrentChanges_replayedOnSnapshot() {
+        UUID listed = UUID.randomUUID();
+        UUID approved = UUID.randomUUID();
+        UUID rejected = UUID.randomUUID();
+        when(clinicRepository.findApprovedOpenHours()).thenReturn(List.of(row(listed), row(rejected)));
+        clinicOpenHoursIndex.load();
+
+        // The snapshot is read before the approve and the reject commit
+        when(clinicRepository.findApprovedOpenHours()).thenAnswer(invocation -> {
+            clinicOpenHoursIndex.upsertAfterCommit(approved, WEEKDAYS);
+            clinicOpenHoursIndex.removeAfterCommit(rejected);
+            return List.of(row(listed), row(rejected));
+        });
+        clinicOpenHoursIndex.reconcile();
+
+        assertTrue(clinicOpenHoursIndex.isOpen(listed, SLOT));
+        assertTrue(clinicOpenHoursIndex.isOpen(approved, SLOT));
+        assertFalse(clinicOpenHoursIndex.isOpen(rejected, SLOT));
+    }
+}
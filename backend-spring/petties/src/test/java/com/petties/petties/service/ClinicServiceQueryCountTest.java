@@ -0,0 +1,296 @@
+package com.petties.petties.service;
+
+import com.petties.petties.config.JpaConfig;
+import com.petties.petties.dto.clinic.ClinicListCursor;
+import com.petties.petties.dto.clinic.ClinicResponse;
+import com.petties.petties.model.Clinic;
+import com.petties.petties.model.ClinicImage;
+import com.petties.petties.model.OperatingHours;
+import com.petties.petties.model.User;
+import com.petties.petties.model.enums.ClinicStatus;
+import com.petties.petties.model.enums.Role;
+import com.petties.petties.repository.ClinicImageRepository;
+import com.petties.petties.repository.ClinicRepository;
+import com.petties.petties.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * SQL statement counts of the clinic read endpoints against an in-memory H2
+ * schema. A page of 10 clinics must cost the same number of statements as a
+ * page of 2; anything else means a lazy association is loaded per row.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JpaConfig.class)
+@TestPropertySource(properties = {
+        // H2 has no jsonb: a text domain stands in for operating_hours
+        "spring.datasource.url=jdbc:h2:mem:clinic-queries;MODE=PostgreSQL;"
+                + "INIT=CREATE DOMAIN IF NOT EXISTS JSONB AS VARCHAR",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.petties.petties.service.ClinicServiceQueryCountTest$SqlRecorder"
+})
+@DisplayName("ClinicService SQL statement count Tests")
+class ClinicServiceQueryCountTest {
+
+    /**
+     * Keeps the SQL of the current test
+     */
+    public static class SqlRecorder implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ClinicRepository clinicRepository;
+
+    @Autowired
+    private ClinicImageRepository clinicImageRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private ClinicService clinicService;
+    private Statistics statistics;
+    private UUID ownerId;
+    private UUID firstClinicId;
+
+    @BeforeEach
+    void setUp() {
+        ClinicDetailCache detailCache = mock(ClinicDetailCache.class);
+        when(detailCache.get(any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<ClinicDetailCache.Detail>>getArgument(2).get());
+        clinicService = new ClinicService(clinicRepository, clinicImageRepository, userRepository,
+                mock(LocationService.class), mock(CloudinaryService.class), mock(EmailService.class),
+                mock(NotificationService.class), mock(ClinicGeoIndex.class), mock(ClinicSuggestIndex.class),
+                mock(ClinicLocationCatalog.class), mock(ClinicOpenHoursIndex.class), detailCache,
+                new ClinicStatusCounts(clinicRepository));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Each clinic has its own owner, so a per-row owner load would show
+        for (int i = 0; i < 10; i++) {
+            User owner = new User();
+            owner.setUsername("owner" + i);
+            owner.setPassword("secret");
+            owner.setEmail("owner" + i + "@petties.test");
+            owner.setFullName("Owner " + i);
+            owner.setRole(Role.CLINIC_OWNER);
+            entityManager.persist(owner);
+
+            Clinic clinic = new Clinic();
+            clinic.setOwner(owner);
+            clinic.setName("Clinic " + i);
+            clinic.setAddress("1 Le Loi");
+            clinic.setPhone("0900000" + String.format("%03d", i));
+            clinic.setLatitude(new BigDecimal("10.77"));
+            clinic.setLongitude(new BigDecimal("106.70"));
+            clinic.setStatus(ClinicStatus.PENDING);
+            clinic.setOperatingHours(Map.of("MONDAY",
+                    new OperatingHours(LocalTime.of(8, 0), LocalTime.of(17, 0), null, null, false)));
+            entityManager.persist(clinic);
+
+            for (int j = 0; j < 2; j++) {
+                ClinicImage image = new ClinicImage();
+                image.setClinic(clinic);
+                image.setImageUrl("https://img.test/" + i + "/" + j);
+                image.setDisplayOrder(j);
+                image.setIsPrimary(j == 1);
+                entityManager.persist(image);
+            }
+            if (i == 0) {
+                ownerId = owner.getUserId();
+                firstClinicId = clinic.getClinicId();
+            }
+        }
+        entityManager.flush();
+    }
+
+    /**
+     * Statements run by the call, on an empty persistence context
+     */
+    private long statements(Supplier<?> call) {
+        entityManager.clear();
+        statistics.clear();
+        call.get();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void assertFlat(String endpoint, IntFunction<Page<ClinicResponse>> pageOfSize) {
+        long small = statements(() -> pageOfSize.apply(2));
+        long large = statements(() -> pageOfSize.apply(10));
+        assertEquals(small, large, endpoint + " statement count grows with the page size");
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-CLINIC-QUERY-001: list endpoints run a fixed number of statements per page")
+    void listEndpoints_statementsIndependentOfPageSize() {
+        assertFlat("getAllClinics", size -> clinicService.getAllClinics(null, null, PageRequest.of(0, size)));
+        assertFlat("searchClinics", size -> clinicService.searchClinics("clinic", PageRequest.of(0, size)));
+        assertFlat("getPendingClinics", size -> clinicService.getPendingClinics(PageRequest.of(0, size)));
+
+        long statements = statements(() -> clinicService.getAllClinics(null, null, PageRequest.of(0, 10)));
+        // page (owner joined) + count + images of the page
+        assertEquals(3, statements);
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-CLINIC-QUERY-002: list responses still carry owner and sorted images")
+    void listEndpoints_responseContent() {
+        entityManager.clear();
+        List<ClinicResponse> page = clinicService.getClinicsByOwner(ownerId, PageRequest.of(0, 10)).getContent();
+
+        assertEquals(1, page.size());
+        assertEquals("owner0@petties.test", page.get(0).getOwner().getEmail());
+        assertEquals(List.of("https://img.test/0/1", "https://img.test/0/0"), page.get(0).getImages());
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-CLINIC-QUERY-003: clinic detail is a single statement")
+    void getClinicById_singleStatement() {
+        long statements = statements(() -> clinicService.getClinicById(firstClinicId));
+
+        assertEquals(1, statements);
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-CLINIC-QUERY-004: clinic detail ETag comes from one version lookup")
+    void getClinicVersion_singleStatement() {
+        long statements = statements(() -> clinicService.getClinicVersion(firstClinicId));
+
+        assertEquals(1, statements);
+        assertEquals(clinicService.getClinicVersion(firstClinicId), clinicService.getClinicVersion(firstClinicId));
+        // The cached body carries the same validator as the lookup
+        entityManager.clear();
+        assertEquals(clinicService.getClinicVersion(firstClinicId),
+                clinicService.getClinicDetail(firstClinicId, null).version());
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-CLINIC-QUERY-005: keyset pages follow the offset order without a COUNT")
+    void getClinicsAfter_walksListInOffsetOrder() {
+        // Timestamps as stored, not the nanosecond values of the persisted entities
+        entityManager.clear();
+        for (Sort.Direction direction : Sort.Direction.values()) {
+            List<UUID> expected = clinicService.getAllClinics(ClinicStatus.PENDING, null,
+                    PageRequest.of(0, 10, Sort.by(direction, "createdAt", "clinicId")))
+                    .map(ClinicResponse::getClinicId).getContent();
+
+            List<ClinicResponse> first = clinicService.getAllClinics(ClinicStatus.PENDING, null,
+                    PageRequest.of(0, 3, Sort.by(direction, "createdAt", "clinicId"))).getContent();
+            List<UUID> walked = new ArrayList<>(first.stream().map(ClinicResponse::getClinicId).toList());
+            ClinicListCursor cursor = ClinicListCursor.after(first.get(2), direction);
+            while (true) {
+                ClinicListCursor after = ClinicListCursor.decode(cursor.encode());
+                Slice<ClinicResponse> page = clinicService.getClinicsAfter(ClinicStatus.PENDING, null, after, 3);
+                page.forEach(clinic -> walked.add(clinic.getClinicId()));
+                if (!page.hasNext()) {
+                    break;
+                }
+                cursor = ClinicListCursor.after(page.getContent().get(page.getNumberOfElements() - 1), direction);
+            }
+            assertEquals(expected, walked, direction + " keyset walk");
+        }
+
+        ClinicListCursor start = ClinicListCursor.after(
+                clinicService.getClinicById(firstClinicId), Sort.Direction.ASC);
+        // page (owner joined) + images of the page
+        assertEquals(2, statements(() -> clinicService.getClinicsAfter(null, null, start, 10)));
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-CLINIC-QUERY-007: keyset cursor is a row-value comparison, usable as an index bound")
+    void getClinicsAfter_rowValueCursorPredicate() {
+        Pattern after = Pattern.compile("\\(\\w+\\.created_at,\\s*\\w+\\.clinic_id\\)\\s*>\\s*\\(\\?,\\s*\\?\\)");
+        Pattern before = Pattern.compile("\\(\\w+\\.created_at,\\s*\\w+\\.clinic_id\\)\\s*<\\s*\\(\\?,\\s*\\?\\)");
+        ClinicResponse first = clinicService.getClinicById(firstClinicId);
+
+        for (Sort.Direction direction : Sort.Direction.values()) {
+            SqlRecorder.STATEMENTS.clear();
+            clinicService.getClinicsAfter(ClinicStatus.PENDING, null, ClinicListCursor.after(first, direction), 3);
+
+            String page = SqlRecorder.STATEMENTS.get(0);
+            assertTrue((direction == Sort.Direction.ASC ? after : before).matcher(page).find(), page);
+            assertFalse(page.matches("(?s).*created_at\\s*=\\s*\\?.*"), page); // no OR expansion
+        }
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-CLINIC-QUERY-006: status totals come from one grouped count")
+    void countClinics_singleGroupedCount() {
+        long statements = statements(() -> clinicService.countClinics(ClinicStatus.PENDING));
+
+        assertEquals(1, statements);
+        assertEquals(10, clinicService.countClinics(ClinicStatus.PENDING));
+        assertEquals(0, clinicService.countClinics(ClinicStatus.APPROVED));
+        assertEquals(10, clinicService.countClinics(null));
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-CLINIC-QUERY-008: first list page is a keyset read with the cached total")
+    void getFirstClinicsPage_matchesOffsetPageWithoutCount() {
+        entityManager.clear();
+        for (Sort.Direction direction : Sort.Direction.values()) {
+            List<UUID> expected = clinicService.getPendingClinics(
+                    PageRequest.of(0, 3, Sort.by(direction, "createdAt", "clinicId")))
+                    .map(ClinicResponse::getClinicId).getContent();
+
+            Page<ClinicResponse> first = clinicService.getFirstClinicsPage(ClinicStatus.PENDING, direction, 3);
+
+            assertEquals(expected, first.map(ClinicResponse::getClinicId).getContent(), direction + " first page");
+            assertEquals(10, first.getTotalElements());
+            assertTrue(first.hasNext());
+        }
+
+        // page (owner joined) + images of the page; the grouped count is cached
+        assertEquals(2, statements(() -> clinicService.getFirstClinicsPage(ClinicStatus.PENDING,
+                Sort.Direction.DESC, 10)));
+        assertEquals(0, clinicService.getFirstClinicsPage(ClinicStatus.APPROVED, Sort.Direction.DESC, 10)
+                .getTotalElements());
+    }
+}
@@ -0,0 +1,75 @@
+package com.petties.petties.service;
+
+import com.petties.petties.dto.clinic.ClinicStatusCount;
+import com.petties.petties.model.enums.ClinicStatus;
+import com.petties.petties.repository.ClinicRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the cached clinic totals per status.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ClinicStatusCounts Unit Tests")
+class ClinicStatusCountsTest {
+
+    @Mock
+    private ClinicRepository clinicRepository;
+
+    @InjectMocks
+    private ClinicStatusCounts clinicStatusCounts;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(clinicStatusCounts, "ttlSeconds", 60L);
+    }
+
+    private static List<ClinicStatusCount> pending(long count) {
+        return List.of(new ClinicStatusCount() {
+            public ClinicStatus getStatus() { return ClinicStatus.PENDING; }
+            public long getClinicCount() { return count; }
+        });
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-STATUS-COUNTS-001: totals are cached until an invalidation commits")
+    void count_cachedUntilInvalidated() {
+        when(clinicRepository.countGroupedByStatus()).thenReturn(pending(3)).thenReturn(pending(4));
+
+        assertEquals(3, clinicStatusCounts.count(ClinicStatus.PENDING));
+        assertEquals(3, clinicStatusCounts.count(null));
+        assertEquals(0, clinicStatusCounts.count(ClinicStatus.APPROVED));
+
+        clinicStatusCounts.invalidateAfterCommit();
+        assertEquals(4, clinicStatusCounts.count(ClinicStatus.PENDING));
+        verify(clinicRepository, times(2)).countGroupedByStatus();
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-STATUS-COUNTS-002: an invalidation during a count is not overwritten by its result")
+    void count_invalidatedWhileLoading_notKept() {
+        when(clinicRepository.countGroupedByStatus())
+                .thenAnswer(invocation -> {
+                    // The approve commits after the count read the old rows
+                    clinicStatusCounts.invalidateAfterCommit();
+                    return pending(3);
+                })
+                .thenReturn(pending(2));
+
+        assertEquals(3, clinicStatusCounts.count(ClinicStatus.PENDING));
+        assertEquals(2, clinicStatusCounts.count(ClinicStatus.PENDING));
+        assertEquals(2, clinicStatusCounts.count(ClinicStatus.PENDING));
+        verify(clinicRepository, times(2)).countGroupedByStatus();
+    }
+}
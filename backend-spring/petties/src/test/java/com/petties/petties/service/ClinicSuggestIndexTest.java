@@ -0,0 +1,129 @@
+package com.petties.petties.service;
+
+import com.petties.petties.dto.clinic.ClinicSearchTerms;
+import com.petties.petties.dto.clinic.ClinicSuggestionResponse;
+import com.petties.petties.repository.ClinicRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the clinic autocomplete prefix index.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ClinicSuggestIndex Unit Tests")
+class ClinicSuggestIndexTest {
+
+    @Mock
+    private ClinicRepository clinicRepository;
+
+    @InjectMocks
+    private ClinicSuggestIndex clinicSuggestIndex;
+
+    private final UUID thuY = UUID.randomUUID();
+    private final UUID petCare = UUID.randomUUID();
+
+    private static ClinicSearchTerms terms(UUID id, String name, String province, String district, String ward) {
+        return new ClinicSearchTerms() {
+            public UUID getClinicId() { return id; }
+            public String getName() { return name; }
+            public String getProvince() { return province; }
+            public String getDistrict() { return district; }
+            public String getWard() { return ward; }
+        };
+    }
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(clinicSuggestIndex, "enabled", true);
+        when(clinicRepository.findApprovedSearchTerms()).thenReturn(List.of(
+                terms(thuY, "Phòng khám Thú Y Đà Nẵng", "Đà Nẵng", "Hải Châu", "Thạch Thang"),
+                terms(petCare, "Pet Care", "Hồ Chí Minh", "Quận 1", "Bến Nghé")));
+        clinicSuggestIndex.load();
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-SUGGEST-001: accent-insensitive prefix matches any word of the name")
+    void suggest_foldedPrefix_matchesClinicName() {
+        List<ClinicSuggestionResponse> result = clinicSuggestIndex.suggest("thu y", 10);
+
+        assertEquals(1, result.size());
+        assertEquals(ClinicSuggestionResponse.Type.CLINIC, result.get(0).getType());
+        assertEquals(thuY, result.get(0).getClinicId());
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-SUGGEST-002: location tuples are suggested, text-start matches first")
+    void suggest_location_rankedByTextStart() {
+        List<ClinicSuggestionResponse> result = clinicSuggestIndex.suggest("DA NA", 10);
+
+        assertEquals(2, result.size());
+        // "Thạch Thang, Hải Châu, Đà Nẵng" and the clinic name both contain "da nang" mid-text
+        assertTrue(result.stream().anyMatch(s -> s.getType() == ClinicSuggestionResponse.Type.LOCATION
+                && "Đà Nẵng".equals(s.getProvince())));
+        assertEquals(ClinicSuggestionResponse.Type.CLINIC,
+                clinicSuggestIndex.suggest("pet", 10).get(0).getType());
+        assertEquals(ClinicSuggestionResponse.Type.LOCATION,
+                clinicSuggestIndex.suggest("ben", 10).get(0).getType());
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-SUGGEST-003: incremental upsert and remove without a database reload")
+    void upsertAndRemove_updateSuggestions() {
+        UUID newClinic = UUID.randomUUID();
+        clinicSuggestIndex.upsertAfterCommit(newClinic, "Petties Vet", "Hà Nội", "Ba Đình", "Kim Mã");
+        clinicSuggestIndex.removeAfterCommit(petCare);
+
+        List<ClinicSuggestionResponse> result = clinicSuggestIndex.suggest("pet", 10);
+        assertEquals(List.of(newClinic), result.stream().map(ClinicSuggestionResponse::getClinicId).toList());
+        assertTrue(clinicSuggestIndex.suggest("ben nghe", 10).isEmpty());
+        assertTrue(clinicSuggestIndex.suggest("  ", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-SUGGEST-004: changes committed during a reload survive the older snapshot")
+    void reload_concurrentChanges_replayedOnSnapshot() {
+        UUID approved = UUID.randomUUID();
+        // The snapshot is read before the approve and the delete commit
+        when(clinicRepository.findApprovedSearchTerms()).thenAnswer(invocation -> {
+            clinicSuggestIndex.upsertAfterCommit(approved, "Vet Home", "Đà Nẵng", "Hải Châu", "Thạch Thang");
+            clinicSuggestIndex.removeAfterCommit(petCare);
+            return List.of(
+                    terms(thuY, "Phòng khám Thú Y Đà Nẵng", "Đà Nẵng", "Hải Châu", "Thạch Thang"),
+                    terms(petCare, "Pet Care", "Hồ Chí Minh", "Quận 1", "Bến Nghé"));
+        });
+
+        clinicSuggestIndex.reconcile();
+
+        assertEquals(approved, clinicSuggestIndex.suggest("vet", 10).get(0).getClinicId());
+        assertTrue(clinicSuggestIndex.suggest("pet", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-SUGGEST-005: a shared location stays until its last clinic leaves")
+    void remove_sharedLocation_keptWhileReferenced() {
+        UUID neighbour = UUID.randomUUID();
+        clinicSuggestIndex.upsertAfterCommit(neighbour, "Vet Home", "Đà Nẵng", "Hải Châu", "Thạch Thang");
+
+        clinicSuggestIndex.removeAfterCommit(thuY);
+        assertEquals(List.of(ClinicSuggestionResponse.Type.LOCATION),
+                clinicSuggestIndex.suggest("thach", 10).stream().map(ClinicSuggestionResponse::getType).toList());
+
+        // Moving the last clinic away drops the old location and adds the new one
+        clinicSuggestIndex.upsertAfterCommit(neighbour, "Vet Home", "Hà Nội", "Ba Đình", "Kim Mã");
+        assertTrue(clinicSuggestIndex.suggest("thach", 10).isEmpty());
+        assertEquals("Kim Mã, Ba Đình, Hà Nội", clinicSuggestIndex.suggest("kim", 10).get(0).getText());
+        assertEquals(neighbour, clinicSuggestIndex.suggest("vet", 10).get(0).getClinicId());
+    }
+}
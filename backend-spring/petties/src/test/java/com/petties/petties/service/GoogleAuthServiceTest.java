@@ -0,0 +1,149 @@
+package com.petties.petties.service;
+
+import com.petties.petties.exception.UnauthorizedException;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Unit tests for Google ID token verification against a local JWKS stand-in
+ * (MockRestServiceServer serving a locally generated RSA key).
+ */
+@DisplayName("GoogleAuthService Unit Tests")
+class GoogleAuthServiceTest {
+
+    private static final String JWKS_URI = "http://localhost/jwks";
+    private static final String CLIENT_ID = "test-client.apps.googleusercontent.com";
+    private static final String KID = "test-kid";
+
+    private final KeyPair keyPair = Jwts.SIG.RS256.keyPair().build();
+
+    private MockRestServiceServer jwksServer;
+    private GoogleAuthService googleAuthService;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate restTemplate = new RestTemplate();
+        jwksServer = MockRestServiceServer.bindTo(restTemplate).build();
+
+        GoogleJwksCache jwksCache = new GoogleJwksCache(restTemplate);
+        ReflectionTestUtils.setField(jwksCache, "jwksUri", JWKS_URI);
+        ReflectionTestUtils.setField(jwksCache, "defaultTtlSeconds", 3600L);
+        ReflectionTestUtils.setField(jwksCache, "refreshAheadSeconds", 300L);
+        ReflectionTestUtils.setField(jwksCache, "minRefetchIntervalSeconds", 30L);
+
+        googleAuthService = new GoogleAuthService(jwksCache);
+        ReflectionTestUtils.setField(googleAuthService, "googleClientId", CLIENT_ID);
+        googleAuthService.init();
+    }
+
+    private void expectJwksFetch(ExpectedCount count) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl("public, max-age=3600");
+        jwksServer.expect(count, requestTo(JWKS_URI))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(jwksJson(), MediaType.APPLICATION_JSON).headers(headers));
+    }
+
+    private String jwksJson() {
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+        return """
+                {"keys":[{"kty":"RSA","alg":"RS256","use":"sig","kid":"%s","n":"%s","e":"%s"}]}
+                """.formatted(KID, base64Url(publicKey.getModulus()), base64Url(publicKey.getPublicExponent()));
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            byte[] unsigned = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 1, unsigned, 0, unsigned.length);
+            bytes = unsigned;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private String idToken(String audience, boolean emailVerified) {
+        Date now = new Date();
+        return Jwts.builder()
+                .header().keyId(KID).and()
+                .issuer("https://accounts.google.com")
+                .audience().add(audience).and()
+                .subject("google-123")
+                .claim("email", "user@gmail.com")
+                .claim("email_verified", emailVerified)
+                .claim("name", "Test User")
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + 3_600_000))
+                .signWith(keyPair.getPrivate())
+                .compact();
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-GOOGLE-001: valid token verified locally, keys fetched once")
+    void verifyIdToken_validToken_keysCached() {
+        expectJwksFetch(ExpectedCount.once());
+
+        GoogleAuthService.GoogleUserInfo first = googleAuthService.verifyIdToken(idToken(CLIENT_ID, true));
+        GoogleAuthService.GoogleUserInfo second = googleAuthService.verifyIdToken(idToken(CLIENT_ID, true));
+
+        assertEquals("user@gmail.com", first.email());
+        assertEquals("google-123", first.googleId());
+        assertEquals("Test User", second.name());
+        jwksServer.verify();
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-GOOGLE-002: token for another client is rejected")
+    void verifyIdToken_wrongAudience_unauthorized() {
+        expectJwksFetch(ExpectedCount.once());
+
+        assertThrows(UnauthorizedException.class,
+                () -> googleAuthService.verifyIdToken(idToken("other-client", true)));
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-GOOGLE-003: unverified email is rejected")
+    void verifyIdToken_emailNotVerified_unauthorized() {
+        expectJwksFetch(ExpectedCount.once());
+
+        UnauthorizedException ex = assertThrows(UnauthorizedException.class,
+                () -> googleAuthService.verifyIdToken(idToken(CLIENT_ID, false)));
+        assertEquals("Google account email not verified", ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-GOOGLE-004: token signed by an unknown key is rejected")
+    void verifyIdToken_foreignSignature_unauthorized() {
+        expectJwksFetch(ExpectedCount.once());
+        KeyPair otherKeyPair = Jwts.SIG.RS256.keyPair().build();
+        String forged = Jwts.builder()
+                .header().keyId(KID).and()
+                .issuer("https://accounts.google.com")
+                .audience().add(CLIENT_ID).and()
+                .claim("email_verified", true)
+                .expiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(otherKeyPair.getPrivate())
+                .compact();
+
+        assertThrows(UnauthorizedException.class, () -> googleAuthService.verifyIdToken(forged));
+    }
+}
@@ -0,0 +1,179 @@
+package com.petties.petties.service;
+
+import com.petties.petties.dto.clinic.DistanceResponse;
+import com.petties.petties.dto.clinic.GeocodeResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.queryParam;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Unit tests for cached geocoding against a local Goong stand-in
+ * (MockRestServiceServer) with Redis mocked.
+ */
+@DisplayName("LocationService Unit Tests")
+class LocationServiceTest {
+
+    private static final String GEOCODE_URL = "http://localhost/geocode";
+    private static final String MATRIX_URL = "http://localhost/distancematrix";
+
+    private MockRestServiceServer goong;
+    private ValueOperations<String, String> redisValues;
+    private SimpleMeterRegistry meterRegistry;
+    private LocationService locationService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RestTemplate restTemplate = new RestTemplate();
+        goong = MockRestServiceServer.bindTo(restTemplate).build();
+
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        redisValues = mock(ValueOperations.class);
+        when(redis.opsForValue()).thenReturn(redisValues);
+
+        meterRegistry = new SimpleMeterRegistry();
+        GeocodeCache geocodeCache = new GeocodeCache(redis, meterRegistry, 100);
+        ReflectionTestUtils.setField(geocodeCache, "l1TtlSeconds", 3600L);
+        ReflectionTestUtils.setField(geocodeCache, "ttlSeconds", 86400L);
+        ReflectionTestUtils.setField(geocodeCache, "negativeTtlSeconds", 60L);
+        ReflectionTestUtils.setField(geocodeCache, "reversePrecision", 4);
+
+        locationService = new LocationService(restTemplate, geocodeCache);
+        ReflectionTestUtils.setField(locationService, "apiKey", "test-key");
+        ReflectionTestUtils.setField(locationService, "geocodingUrl", GEOCODE_URL);
+        ReflectionTestUtils.setField(locationService, "distanceMatrixUrl", MATRIX_URL);
+        ReflectionTestUtils.setField(locationService, "maxDestinations", 2);
+        ReflectionTestUtils.setField(locationService, "routeCacheTtlSeconds", 300L);
+    }
+
+    private double cacheCount(String kind, String result) {
+        return meterRegistry.get("petties.geocode.cache").tag("kind", kind).tag("result", result).counter().count();
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-LOCATION-001: equivalent addresses share one Goong call")
+    void geocode_normalizedAddress_fetchedOnce() {
+        goong.expect(ExpectedCount.once(), requestTo(startsWith(GEOCODE_URL)))
+                .andRespond(withSuccess("""
+                        {"status":"OK","results":[{"formatted_address":"1 Lê Lợi, Quận 1, TP. Hồ Chí Minh",
+                          "geometry":{"location":{"lat":10.7769,"lng":106.7009}}}]}
+                        """, MediaType.APPLICATION_JSON));
+
+        GeocodeResponse first = locationService.geocode("1 Lê Lợi, Q.1, TP. Hồ Chí Minh");
+        GeocodeResponse second = locationService.geocode("  1 le loi   quan 1 thanh pho ho chi minh");
+
+        goong.verify();
+        assertEquals(0, new BigDecimal("10.7769").compareTo(first.getLatitude()));
+        assertEquals(first.getFormattedAddress(), second.getFormattedAddress());
+        verify(redisValues).set(eq("geocode:fwd:1 le loi quan 1 thanh pho ho chi minh"), anyString(),
+                eq(Duration.ofSeconds(86400)));
+        assertEquals(1, cacheCount("forward", "miss"));
+        assertEquals(1, cacheCount("forward", "l1_hit"));
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-LOCATION-002: no-result answers are cached with the negative TTL")
+    void geocode_noResults_negativelyCached() {
+        goong.expect(ExpectedCount.once(), requestTo(startsWith(GEOCODE_URL)))
+                .andRespond(withSuccess("{\"status\":\"OK\",\"results\":[]}", MediaType.APPLICATION_JSON));
+
+        assertThrows(RuntimeException.class, () -> locationService.geocode("nowhere"));
+        assertThrows(RuntimeException.class, () -> locationService.geocode("Nowhere!"));
+
+        goong.verify();
+        verify(redisValues).set("geocode:fwd:nowhere", GeocodeCache.NOT_FOUND, Duration.ofSeconds(60));
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-LOCATION-003: provider errors are not cached")
+    void geocode_serverError_notCached() {
+        goong.expect(ExpectedCount.twice(), requestTo(startsWith(GEOCODE_URL)))
+                .andRespond(withServerError());
+
+        assertThrows(RuntimeException.class, () -> locationService.geocode("1 Le Loi"));
+        assertThrows(RuntimeException.class, () -> locationService.geocode("1 Le Loi"));
+
+        goong.verify();
+        verify(redisValues, never()).set(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-LOCATION-004: reverse lookups in the same snapped cell hit Redis L2")
+    void reverseGeocode_snappedCoordinates_servedFromRedis() {
+        when(redisValues.get("geocode:rev:16.0544,108.2022")).thenReturn("Hải Châu, Đà Nẵng");
+
+        String address = locationService.reverseGeocode(new BigDecimal("16.05441234"), new BigDecimal("108.20218765"));
+
+        assertEquals("Hải Châu, Đà Nẵng", address);
+        assertEquals(1, cacheCount("reverse", "l2_hit"));
+        goong.verify(); // no request made
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-LOCATION-005: one matrix call per chunk, unroutable elements use Haversine")
+    void calculateDistanceMatrix_batch_chunkedWithFallback() {
+        goong.expect(ExpectedCount.once(), requestTo(startsWith(MATRIX_URL)))
+                .andExpect(queryParam("destinations", "16.06,108.21%7C16.07,108.22"))
+                .andRespond(withSuccess("""
+                        {"status":"OK","rows":[{"elements":[
+                          {"status":"OK","distance":{"value":2500},"duration":{"value":600}},
+                          {"status":"ZERO_RESULTS"}]}]}
+                        """, MediaType.APPLICATION_JSON));
+        goong.expect(ExpectedCount.once(), requestTo(startsWith(MATRIX_URL)))
+                .andExpect(queryParam("destinations", "16.08,108.23"))
+                .andRespond(withSuccess("""
+                        {"status":"OK","rows":[{"elements":[
+                          {"status":"OK","distance":{"value":4000},"duration":{"value":900}}]}]}
+                        """, MediaType.APPLICATION_JSON));
+
+        BigDecimal originLat = new BigDecimal("16.05");
+        BigDecimal originLng = new BigDecimal("108.20");
+        List<LocationService.Destination> destinations = List.of(
+                new LocationService.Destination(new BigDecimal("16.06"), new BigDecimal("108.21")),
+                new LocationService.Destination(new BigDecimal("16.07"), new BigDecimal("108.22")),
+                new LocationService.Destination(new BigDecimal("16.08"), new BigDecimal("108.23")));
+
+        List<DistanceResponse> routes = locationService.calculateDistanceMatrix(originLat, originLng, destinations);
+        goong.verify();
+
+        assertEquals(2.5, routes.get(0).getDistance());
+        assertEquals(10, routes.get(0).getDuration());
+        assertFalse(routes.get(0).isEstimated());
+        assertTrue(routes.get(1).isEstimated());
+        assertNull(routes.get(1).getDuration());
+        assertEquals(15, routes.get(2).getDuration());
+
+        // Routed pairs are now cached; only the Haversine element would be asked again
+        goong.reset();
+        goong.expect(ExpectedCount.once(), requestTo(startsWith(MATRIX_URL)))
+                .andExpect(queryParam("destinations", "16.07,108.22"))
+                .andRespond(withServerError());
+        List<DistanceResponse> again = locationService.calculateDistanceMatrix(originLat, originLng, destinations);
+        goong.verify();
+        assertEquals(2.5, again.get(0).getDistance());
+        assertTrue(again.get(1).isEstimated());
+    }
+}
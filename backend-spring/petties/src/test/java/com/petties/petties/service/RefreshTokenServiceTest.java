@@ -0,0 +1,114 @@
+package com.petties.petties.service;
+
+import com.petties.petties.model.RefreshToken;
+import com.petties.petties.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RefreshTokenService rotation on both stores.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RefreshTokenService Unit Tests")
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    private final UUID userId = UUID.randomUUID();
+
+    private RefreshToken storedToken(UUID owner, LocalDateTime expiresAt) {
+        RefreshToken token = new RefreshToken();
+        token.setUserId(owner);
+        token.setTokenHash("old-hash");
+        token.setExpiresAt(expiresAt);
+        return token;
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-REFRESH-001: database store rotates a valid token")
+    void rotate_database_validToken_rotated() {
+        ReflectionTestUtils.setField(refreshTokenService, "store", "database");
+        RefreshToken old = storedToken(userId, LocalDateTime.now().plusDays(1));
+        when(refreshTokenRepository.findByTokenHash("old-hash")).thenReturn(Optional.of(old));
+        when(refreshTokenRepository.deleteByTokenHashAndUserId("old-hash", userId)).thenReturn(1);
+
+        RefreshTokenService.RotationResult result = refreshTokenService.rotate(
+                userId, "old-hash", "new-hash", LocalDateTime.now().plusDays(7));
+
+        assertEquals(RefreshTokenService.RotationResult.ROTATED, result);
+        verify(refreshTokenRepository).deleteByTokenHashAndUserId("old-hash", userId);
+        verify(refreshTokenRepository).save(any(RefreshToken.class));
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-REFRESH-001b: database store rejects a token consumed by a concurrent refresh")
+    void rotate_database_concurrentlyConsumed_notFound() {
+        ReflectionTestUtils.setField(refreshTokenService, "store", "database");
+        when(refreshTokenRepository.findByTokenHash("old-hash"))
+                .thenReturn(Optional.of(storedToken(userId, LocalDateTime.now().plusDays(1))));
+        when(refreshTokenRepository.deleteByTokenHashAndUserId("old-hash", userId)).thenReturn(0);
+
+        RefreshTokenService.RotationResult result = refreshTokenService.rotate(
+                userId, "old-hash", "new-hash", LocalDateTime.now().plusDays(7));
+
+        assertEquals(RefreshTokenService.RotationResult.NOT_FOUND, result);
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-REFRESH-002: database store rejects a token owned by another user")
+    void rotate_database_otherOwner_notFound() {
+        ReflectionTestUtils.setField(refreshTokenService, "store", "database");
+        when(refreshTokenRepository.findByTokenHash("old-hash"))
+                .thenReturn(Optional.of(storedToken(UUID.randomUUID(), LocalDateTime.now().plusDays(1))));
+
+        RefreshTokenService.RotationResult result = refreshTokenService.rotate(
+                userId, "old-hash", "new-hash", LocalDateTime.now().plusDays(7));
+
+        assertEquals(RefreshTokenService.RotationResult.NOT_FOUND, result);
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-REFRESH-003: redis store rotates with one script call")
+    @SuppressWarnings("unchecked")
+    void rotate_redis_singleScriptCall() {
+        ReflectionTestUtils.setField(refreshTokenService, "store", "redis");
+        when(stringRedisTemplate.execute(any(RedisScript.class),
+                anyList(), any(Object[].class))).thenReturn(0L);
+
+        RefreshTokenService.RotationResult result = refreshTokenService.rotate(
+                userId, "old-hash", "new-hash", LocalDateTime.now().plusDays(7));
+
+        assertEquals(RefreshTokenService.RotationResult.NOT_FOUND, result);
+        verify(stringRedisTemplate, times(1)).execute(any(RedisScript.class),
+                eq(List.of("auth:refresh:old-hash", "auth:refresh:new-hash", "auth:refresh_user:" + userId)),
+                any(Object[].class));
+        verifyNoInteractions(refreshTokenRepository);
+    }
+}
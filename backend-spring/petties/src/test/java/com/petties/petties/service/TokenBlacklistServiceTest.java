@@ -0,0 +1,105 @@
+package com.petties.petties.service;
+
+import com.petties.petties.model.BlacklistedToken;
+import com.petties.petties.repository.BlacklistedTokenRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for TokenBlacklistService startup warm-up.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenBlacklistService Unit Tests")
+class TokenBlacklistServiceTest {
+
+    private static final String REVOKED_HASH = "a1b2c3d4e5f60718" + "0".repeat(48);
+    private static final String OTHER_HASH = "ffffffffffffffff" + "0".repeat(48);
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @Mock
+    private BlacklistedTokenRepository blacklistedTokenRepository;
+
+    @InjectMocks
+    private TokenBlacklistService tokenBlacklistService;
+
+    @Test
+    @DisplayName("TC-UNIT-BLACKLIST-001: warm-up backfills tokens revoked in the database")
+    void warmUp_databaseRows_revokedLocallyAndCopiedToRedis() {
+        BlacklistedToken token = new BlacklistedToken();
+        token.setTokenHash(REVOKED_HASH);
+        token.setUserId(UUID.randomUUID());
+        token.setExpiresAt(LocalDateTime.now().plusMinutes(10));
+        when(blacklistedTokenRepository.findByExpiresAtAfter(any())).thenReturn(List.of(token));
+        when(stringRedisTemplate.scan(any(ScanOptions.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        when(stringRedisTemplate.hasKey(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+
+        tokenBlacklistService.warmUp();
+
+        verify(stringRedisTemplate).executePipelined(any(RedisCallback.class));
+        // Redis unavailable: a local hit fails closed
+        assertTrue(tokenBlacklistService.isBlacklisted(REVOKED_HASH));
+        assertFalse(tokenBlacklistService.isBlacklisted(OTHER_HASH));
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-BLACKLIST-002: logout with Redis down keeps the audit row and revokes locally")
+    void blacklist_redisDown_doesNotFail() {
+        when(stringRedisTemplate.opsForValue()).thenThrow(new RedisConnectionFailureException("down"));
+        when(stringRedisTemplate.hasKey(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertDoesNotThrow(() -> tokenBlacklistService.blacklist(REVOKED_HASH, UUID.randomUUID(),
+                LocalDateTime.now().plusMinutes(10)));
+
+        verify(blacklistedTokenRepository).save(any(BlacklistedToken.class));
+        assertTrue(tokenBlacklistService.isBlacklisted(REVOKED_HASH));
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-BLACKLIST-003: reconcile picks up revocations whose event was missed")
+    @SuppressWarnings("unchecked")
+    void reconcile_redisKeys_addedLocally() {
+        Cursor<String> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenReturn(true, false);
+        when(cursor.next()).thenReturn("auth:blacklist:" + REVOKED_HASH);
+        when(stringRedisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
+        when(stringRedisTemplate.getExpire("auth:blacklist:" + REVOKED_HASH, TimeUnit.MILLISECONDS))
+                .thenReturn(60_000L);
+        when(stringRedisTemplate.hasKey("auth:blacklist:" + REVOKED_HASH)).thenReturn(true);
+        assertFalse(tokenBlacklistService.isBlacklisted(REVOKED_HASH));
+
+        tokenBlacklistService.reconcile();
+
+        assertTrue(tokenBlacklistService.isBlacklisted(REVOKED_HASH));
+        assertFalse(tokenBlacklistService.isBlacklisted(OTHER_HASH));
+    }
+}
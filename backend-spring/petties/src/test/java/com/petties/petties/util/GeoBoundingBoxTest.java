@@ -0,0 +1,61 @@
+package com.petties.petties.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GeoBoundingBox: the box must never exclude a point that is
+ * within the radius (prefilter has no false negatives).
+ */
+@DisplayName("GeoBoundingBox Unit Tests")
+class GeoBoundingBoxTest {
+
+    private static double haversineKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * GeoBoundingBox.EARTH_RADIUS_KM * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-GEO-001: every point within radius is inside the box")
+    void around_containsAllPointsWithinRadius() {
+        double lat = 16.0544; // Da Nang
+        double lng = 108.2022;
+        double radius = 10;
+        GeoBoundingBox box = GeoBoundingBox.around(lat, lng, radius);
+
+        for (int bearing = 0; bearing < 360; bearing += 5) {
+            double theta = Math.toRadians(bearing);
+            double angular = (radius * 0.999) / GeoBoundingBox.EARTH_RADIUS_KM;
+            double lat1 = Math.toRadians(lat);
+            double lat2 = Math.asin(Math.sin(lat1) * Math.cos(angular)
+                    + Math.cos(lat1) * Math.sin(angular) * Math.cos(theta));
+            double lng2 = Math.toRadians(lng) + Math.atan2(Math.sin(theta) * Math.sin(angular) * Math.cos(lat1),
+                    Math.cos(angular) - Math.sin(lat1) * Math.sin(lat2));
+            double pointLat = Math.toDegrees(lat2);
+            double pointLng = Math.toDegrees(lng2);
+
+            assertTrue(haversineKm(lat, lng, pointLat, pointLng) <= radius);
+            assertTrue(box.contains(pointLat, pointLng), "bearing " + bearing);
+        }
+        assertFalse(box.contains(lat + 0.2, lng));
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-GEO-002: box near a pole or the antimeridian spans all longitudes")
+    void around_poleOrAntimeridian_fullLongitudeRange() {
+        GeoBoundingBox nearPole = GeoBoundingBox.around(89.95, 10, 20);
+        GeoBoundingBox nearAntimeridian = GeoBoundingBox.around(0, 179.99, 20);
+
+        assertEquals(-180, nearPole.minLng());
+        assertEquals(180, nearPole.maxLng());
+        assertEquals(90, nearPole.maxLat());
+        assertEquals(-180, nearAntimeridian.minLng());
+        assertEquals(180, nearAntimeridian.maxLng());
+    }
+}
@@ -0,0 +1,74 @@
+package com.petties.petties.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the Haversine kernel: the batch form must agree with the
+ * textbook per-pair formula.
+ */
+@DisplayName("Haversine Unit Tests")
+class HaversineTest {
+
+    private static double referenceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * GeoBoundingBox.EARTH_RADIUS_KM * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-HAVERSINE-001: one degree of latitude is ~111.19 km")
+    void distanceKm_oneDegreeLatitude() {
+        assertEquals(111.19, Haversine.distanceKm(16, 108, 17, 108), 0.01);
+        assertEquals(0, Haversine.distanceKm(16.0544, 108.2022, 16.0544, 108.2022), 1e-9);
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-HAVERSINE-002: batch within() matches the per-pair formula")
+    void within_matchesReference() {
+        double lat = 10.7769; // Ho Chi Minh City
+        double lng = 106.7009;
+        double radius = 15;
+        Random random = new Random(42);
+
+        int n = 5_000;
+        double[] lats = new double[n];
+        double[] lngs = new double[n];
+        double[] latsRad = new double[n];
+        double[] lngsRad = new double[n];
+        double[] cosLats = new double[n];
+        for (int i = 0; i < n; i++) {
+            lats[i] = lat + (random.nextDouble() - 0.5) * 0.5;
+            lngs[i] = lng + (random.nextDouble() - 0.5) * 0.5;
+            latsRad[i] = Math.toRadians(lats[i]);
+            lngsRad[i] = Math.toRadians(lngs[i]);
+            cosLats[i] = Math.cos(latsRad[i]);
+        }
+
+        int[] indexes = new int[n];
+        double[] distances = new double[n];
+        double latRad = Math.toRadians(lat);
+        int count = Haversine.within(latRad, Math.toRadians(lng), Math.cos(latRad), radius,
+                latsRad, lngsRad, cosLats, n, indexes, distances);
+
+        int expected = 0;
+        for (int i = 0; i < n; i++) {
+            if (referenceKm(lat, lng, lats[i], lngs[i]) <= radius) {
+                expected++;
+            }
+        }
+        assertEquals(expected, count);
+        assertTrue(count > 0 && count < n);
+        for (int i = 0; i < count; i++) {
+            int index = indexes[i];
+            assertEquals(referenceKm(lat, lng, lats[index], lngs[index]), distances[i], 1e-9);
+        }
+    }
+}
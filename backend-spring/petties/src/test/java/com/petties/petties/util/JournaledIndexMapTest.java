@@ -0,0 +1,65 @@
+package com.petties.petties.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the journaled entries shared by the in-memory clinic indexes.
+ */
+@DisplayName("JournaledIndexMap Unit Tests")
+class JournaledIndexMapTest {
+
+    @Test
+    @DisplayName("TC-UNIT-JOURNAL-001: changes made during a reload are replayed onto its snapshot")
+    void reload_concurrentChanges_replayed() {
+        List<String> events = new ArrayList<>();
+        JournaledIndexMap<String, Integer> map = new JournaledIndexMap<>(new JournaledIndexMap.Listener<>() {
+            @Override
+            public void changed(String key, Integer oldValue, Integer newValue) {
+                events.add(key + ":" + oldValue + "->" + newValue);
+            }
+
+            @Override
+            public void reloaded(Map<String, Integer> entries) {
+                events.add("reloaded:" + entries.size());
+            }
+        });
+        map.putAfterCommit("stale", 0);
+
+        map.reload(() -> {
+            // Committed after the snapshot below was read
+            map.putAfterCommit("added", 2);
+            map.removeAfterCommit("removed");
+            return new HashMap<>(Map.of("kept", 1, "removed", 3));
+        });
+
+        assertTrue(map.isLoaded());
+        assertEquals(2, map.size());
+        assertEquals(1, map.get("kept"));
+        assertEquals(2, map.get("added"));
+        assertNull(map.get("stale"));
+        assertNull(map.get("removed"));
+        assertEquals(List.of("stale:null->0", "added:null->2", "removed:null->null", "reloaded:2"), events);
+    }
+
+    @Test
+    @DisplayName("TC-UNIT-JOURNAL-002: a failed reload keeps the current entries")
+    void reload_loaderThrows_entriesKept() {
+        JournaledIndexMap<String, Integer> map = new JournaledIndexMap<>();
+        map.putAfterCommit("kept", 1);
+
+        assertThrows(IllegalStateException.class, () -> map.reload(() -> {
+            throw new IllegalStateException("database down");
+        }));
+
+        assertFalse(map.isLoaded());
+        assertEquals(1, map.get("kept"));
+    }
+}
@@ -0,0 +1,23 @@
+package com.petties.petties.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for escaping user text in LIKE patterns.
+ */
+@DisplayName("LikePatterns Unit Tests")
+class LikePatternsTest {
+
+    @Test
+    @DisplayName("TC-UNIT-LIKE-001: wildcards and the escape character are escaped, other text is kept")
+    void escape_wildcards() {
+        assertEquals("\\%", LikePatterns.escape("%"));
+        assertEquals("\\_", LikePatterns.escape("_"));
+        assertEquals("a\\\\b", LikePatterns.escape("a\\b"));
+        assertEquals("100\\% thú y", LikePatterns.escape("100% thú y"));
+        assertEquals("thu y", LikePatterns.escape("thu y"));
+    }
+}